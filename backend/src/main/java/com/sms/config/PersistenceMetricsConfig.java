@@ -0,0 +1,21 @@
+package com.sms.config;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes Hibernate statistics, including second-level and query cache hits and misses per
+ * region, as {@code hibernate.*} meters.
+ */
+@Configuration
+public class PersistenceMetricsConfig {
+
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "sms", Tags.empty());
+    }
+}
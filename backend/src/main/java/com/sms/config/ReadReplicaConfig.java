@@ -0,0 +1,63 @@
+package com.sms.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Builds the primary pool the way Spring Boot would and, when {@code datasource.replicas.urls}
+ * lists any replicas, wraps it in a {@link ReadReplicaDataSource}. Without replicas the primary
+ * pool is used directly.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                 ReadYourWrites readYourWrites, MeterRegistry meterRegistry,
+                                 @Value("${datasource.replicas.urls:}") List<String> urls,
+                                 @Value("${datasource.replicas.username:}") String username,
+                                 @Value("${datasource.replicas.password:}") String password,
+                                 @Value("${datasource.replicas.maximumPoolSize:10}") int maximumPoolSize,
+                                 @Value("${datasource.replicas.connectionTimeoutMs:2000}") long connectionTimeoutMs,
+                                 @Value("${datasource.replicas.retryAfterMs:30000}") long retryAfterMs) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + replicas.size());
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username.isBlank() ? properties.determineUsername() : username);
+            config.setPassword(username.isBlank() ? properties.determinePassword() : password);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            // Start even when a replica is down; it is skipped until it accepts connections again.
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(meterRegistry);
+            replicas.add(new HikariDataSource(config));
+        }
+        if (replicas.isEmpty()) {
+            return primaryDataSource;
+        }
+        return new ReadReplicaDataSource(primaryDataSource, replicas, readYourWrites, retryAfterMs);
+    }
+}
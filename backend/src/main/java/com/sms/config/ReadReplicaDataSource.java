@@ -0,0 +1,94 @@
+package com.sms.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions started by a {@link ReplicaRead} method to the replicas and
+ * everything else to the primary. The physical connection is only chosen at the first statement,
+ * once the transaction has marked it read-only. Replicas are used in turn; one that fails to hand out a connection is skipped for
+ * {@code retryAfterMs}, and when none is available, or the current user wrote recently (see
+ * {@link ReadYourWrites}), the read goes to the primary.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final List<DataSource> replicas;
+
+    public ReadReplicaDataSource(DataSource primary, List<DataSource> replicas, ReadYourWrites readYourWrites,
+                                 long retryAfterMs) {
+        super(new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                readYourWrites.primaryConnectionAcquired();
+                return connection;
+            }
+        });
+        this.replicas = List.copyOf(replicas);
+        setReadOnlyDataSource(new ReplicaSelector(primary, this.replicas, readYourWrites, retryAfterMs));
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class ReplicaSelector extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final List<DataSource> replicas;
+        private final ReadYourWrites readYourWrites;
+        private final long retryAfterMs;
+        private final AtomicLongArray downUntil;
+        private final AtomicInteger next = new AtomicInteger();
+
+        ReplicaSelector(DataSource primary, List<DataSource> replicas, ReadYourWrites readYourWrites, long retryAfterMs) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.readYourWrites = readYourWrites;
+            this.retryAfterMs = retryAfterMs;
+            this.downUntil = new AtomicLongArray(replicas.size());
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!ReplicaReadRouting.isActive() || readYourWrites.wroteRecently()) {
+                return primary.getConnection();
+            }
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int replica = (start + i) % replicas.size();
+                long now = System.currentTimeMillis();
+                if (downUntil.get(replica) > now) {
+                    continue;
+                }
+                try {
+                    return replicas.get(replica).getConnection();
+                } catch (SQLException ex) {
+                    downUntil.set(replica, now + retryAfterMs);
+                    log.warn("Read replica {} unavailable, skipping it for {} ms: {}", replica, retryAfterMs, ex.getMessage());
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Read replica credentials are configured per pool");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sms.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @Transactional(readOnly = true)} method whose reads may be served by a read
+ * replica. Other read-only work, including Spring Data's own read-only repository transactions,
+ * stays on the primary, so it never sees replication lag.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
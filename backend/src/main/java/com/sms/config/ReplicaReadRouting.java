@@ -0,0 +1,32 @@
+package com.sms.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flags the calling thread for the duration of a {@link ReplicaRead} method, so
+ * {@link ReadReplicaDataSource} may pick a replica for the read-only transaction it runs in.
+ */
+@Aspect
+@Component
+public class ReplicaReadRouting {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    static boolean isActive() {
+        return ACTIVE.get();
+    }
+
+    @Around("@annotation(com.sms.config.ReplicaRead)")
+    public Object route(ProceedingJoinPoint call) throws Throwable {
+        Boolean outer = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return call.proceed();
+        } finally {
+            ACTIVE.set(outer);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.sms.controller;
 
 import com.sms.dto.Dtos;
 import com.sms.service.AcademicService;
+import com.sms.service.TranscriptService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 public class AcademicController {
 
     private final AcademicService academicService;
+    private final TranscriptService transcriptService;
 
     @GetMapping("/students")
     public Dtos.PageResponse<Dtos.StudentResponse> students(@RequestParam(defaultValue = "") String search,
@@ -21,6 +23,13 @@ public class AcademicController {
         return academicService.listStudents(search, page, size);
     }
 
+    @GetMapping("/students/scroll")
+    public Dtos.SliceResponse<Dtos.StudentResponse> scrollStudents(@RequestParam(defaultValue = "") String search,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        return academicService.scrollStudents(search, after, size);
+    }
+
     @PostMapping("/students")
     @PreAuthorize("hasRole('ADMIN')")
     public Dtos.StudentResponse createStudent(@Valid @RequestBody Dtos.StudentRequest request) {
@@ -33,6 +42,12 @@ public class AcademicController {
         return academicService.updateStudent(id, request);
     }
 
+    @GetMapping("/students/{id}/transcript")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER') or (hasRole('STUDENT') and principal.referenceId == #id)")
+    public Dtos.Transcript transcript(@PathVariable Long id) {
+        return transcriptService.transcript(id);
+    }
+
     @DeleteMapping("/students/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteStudent(@PathVariable Long id) {
@@ -45,6 +60,12 @@ public class AcademicController {
         return academicService.listTeachers(page, size);
     }
 
+    @GetMapping("/teachers/scroll")
+    public Dtos.SliceResponse<Dtos.TeacherResponse> scrollTeachers(@RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        return academicService.scrollTeachers(after, size);
+    }
+
     @PostMapping("/teachers")
     @PreAuthorize("hasRole('ADMIN')")
     public Dtos.TeacherResponse createTeacher(@Valid @RequestBody Dtos.TeacherRequest request) {
@@ -58,6 +79,13 @@ public class AcademicController {
         return academicService.listCourses(title, page, size);
     }
 
+    @GetMapping("/courses/scroll")
+    public Dtos.SliceResponse<Dtos.CourseResponse> scrollCourses(@RequestParam(defaultValue = "") String title,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        return academicService.scrollCourses(title, after, size);
+    }
+
     @PostMapping("/courses")
     @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
     public Dtos.CourseResponse createCourse(@Valid @RequestBody Dtos.CourseRequest request) {
@@ -2,9 +2,12 @@ package com.sms.controller;
 
 import com.sms.dto.Dtos;
 import com.sms.service.CsvImportService;
-import com.sms.service.DashboardService;
+import com.sms.service.DashboardCache;
+import com.sms.service.StudentImportJobs;
+import com.sms.service.TranscriptService;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,12 +17,14 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class AdminController {
 
-    private final DashboardService dashboardService;
+    private final DashboardCache dashboardCache;
     private final CsvImportService csvImportService;
+    private final StudentImportJobs studentImportJobs;
+    private final TranscriptService transcriptService;
 
     @GetMapping("/dashboard")
     public Dtos.DashboardMetrics dashboard() {
-        return dashboardService.metrics();
+        return dashboardCache.metrics();
     }
 
     @PostMapping("/students/bulk-upload")
@@ -27,4 +32,21 @@ public class AdminController {
     public Dtos.CsvImportResponse bulkUpload(@RequestParam("file") MultipartFile file) throws IOException {
         return csvImportService.importStudents(file);
     }
+
+    @PostMapping("/students/import-jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Dtos.ImportJobResponse submitImport(@RequestParam("file") MultipartFile file) throws IOException {
+        return studentImportJobs.submit(file);
+    }
+
+    @GetMapping("/students/import-jobs/{id}")
+    public Dtos.ImportJobResponse importStatus(@PathVariable String id) {
+        return studentImportJobs.status(id);
+    }
+
+    @PostMapping("/transcripts/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Dtos.TranscriptRecomputeResponse recomputeTranscripts() {
+        return transcriptService.recomputeAll();
+    }
 }
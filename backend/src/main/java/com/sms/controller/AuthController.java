@@ -2,8 +2,11 @@ package com.sms.controller;
 
 import com.sms.dto.Dtos;
 import com.sms.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -14,12 +17,18 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
-    public Dtos.AuthResponse register(@Valid @RequestBody Dtos.RegisterRequest request) {
-        return authService.register(request);
+    public Dtos.AuthResponse register(@Valid @RequestBody Dtos.RegisterRequest request, HttpServletRequest http) {
+        return authService.register(request, http.getRemoteAddr());
     }
 
     @PostMapping("/login")
-    public Dtos.AuthResponse login(@Valid @RequestBody Dtos.AuthRequest request) {
-        return authService.login(request);
+    public Dtos.AuthResponse login(@Valid @RequestBody Dtos.AuthRequest request, HttpServletRequest http) {
+        return authService.login(request, http.getRemoteAddr());
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        authService.logout(authorization);
     }
 }
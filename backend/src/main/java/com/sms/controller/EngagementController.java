@@ -1,11 +1,26 @@
 package com.sms.controller;
 
 import com.sms.dto.Dtos;
+import com.sms.service.AttendanceBitmapIndex;
+import com.sms.service.AttendanceExportService;
+import com.sms.service.AttendanceRollups;
 import com.sms.service.EngagementService;
+import com.sms.service.GradebookService;
+import com.sms.service.MarksAnalytics;
+import com.sms.service.PerformanceLeaderboards;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/api")
@@ -13,6 +28,12 @@ import org.springframework.web.bind.annotation.*;
 public class EngagementController {
 
     private final EngagementService engagementService;
+    private final GradebookService gradebookService;
+    private final AttendanceExportService attendanceExportService;
+    private final AttendanceBitmapIndex attendanceBitmapIndex;
+    private final AttendanceRollups attendanceRollups;
+    private final PerformanceLeaderboards performanceLeaderboards;
+    private final MarksAnalytics marksAnalytics;
 
     @PostMapping("/attendance")
     @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
@@ -20,19 +41,127 @@ public class EngagementController {
         return engagementService.markAttendance(request);
     }
 
+    @PostMapping("/attendance/sessions")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public Dtos.AttendanceSessionResponse markSession(@Valid @RequestBody Dtos.AttendanceSessionRequest request) {
+        return engagementService.markSession(request);
+    }
+
     @GetMapping("/attendance")
     public java.util.List<Dtos.AttendanceResponse> listAttendance(@RequestParam(required = false) Long courseId) {
         return engagementService.listAttendance(courseId);
     }
 
+    @GetMapping("/attendance/scroll")
+    public Dtos.SliceResponse<Dtos.AttendanceResponse> scrollAttendance(@RequestParam(required = false) Long courseId,
+                                                                        @RequestParam(required = false) String after,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        return engagementService.scrollAttendance(courseId, after, size);
+    }
+
+    @GetMapping("/attendance/summary")
+    public Dtos.AttendanceSummary attendanceSummary(@RequestParam Long studentId,
+                                                    @RequestParam Long courseId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return attendanceBitmapIndex.summary(studentId, courseId, from, to);
+    }
+
+    @GetMapping("/attendance/rate")
+    public Dtos.AttendanceRate attendanceRate(@RequestParam(required = false) Long studentId,
+                                              @RequestParam(required = false) Long courseId,
+                                              @RequestParam(required = false) Long departmentId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return attendanceRollups.rate(studentId, courseId, departmentId, from, to);
+    }
+
+    @GetMapping("/attendance/export")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public void exportAttendance(@RequestParam(defaultValue = "ndjson") String format,
+                                 @RequestParam(required = false) Long courseId,
+                                 @RequestParam(required = false) Long studentId,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                 HttpServletResponse response) throws IOException {
+        AttendanceExportService.Format exportFormat = AttendanceExportService.Format.parse(format);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=attendance." + exportFormat.name().toLowerCase(Locale.ROOT));
+        attendanceExportService.export(exportFormat, courseId, studentId, from, to, response.getOutputStream());
+    }
+
     @PostMapping("/marks")
     @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
     public Dtos.MarkResponse recordMark(@Valid @RequestBody Dtos.MarkRequest request) {
         return engagementService.recordMark(request);
     }
 
+    @PostMapping(value = "/courses/{courseId}/gradebook/{examType}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public Dtos.CsvImportResponse uploadGradebook(@PathVariable Long courseId, @PathVariable String examType,
+                                                  @RequestBody java.util.List<Dtos.GradebookEntry> entries) {
+        return gradebookService.upload(courseId, examType, entries);
+    }
+
+    @PostMapping(value = "/courses/{courseId}/gradebook/{examType}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public Dtos.CsvImportResponse uploadGradebookCsv(@PathVariable Long courseId, @PathVariable String examType,
+                                                     @RequestParam("file") MultipartFile file) throws IOException {
+        return gradebookService.upload(courseId, examType, file);
+    }
+
     @GetMapping("/marks")
-    public java.util.List<Dtos.MarkResponse> listMarks(@RequestParam(required = false) Long courseId) {
-        return engagementService.listMarks(courseId);
+    public java.util.List<Dtos.MarkResponse> listMarks(@RequestParam(required = false) Long courseId,
+                                                       @RequestParam(required = false) Long studentId,
+                                                       @RequestParam(required = false) String examType,
+                                                       @RequestParam(required = false) BigDecimal minScore,
+                                                       @RequestParam(required = false) BigDecimal maxScore) {
+        return engagementService.listMarks(courseId, studentId, examType, minScore, maxScore);
+    }
+
+    @GetMapping("/leaderboard")
+    public java.util.List<Dtos.TopPerformer> leaderboard(@RequestParam(required = false) Long courseId,
+                                                         @RequestParam(required = false) Long departmentId,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        return performanceLeaderboards.topPerformers(courseId, departmentId, limit);
+    }
+
+    @GetMapping("/analytics/courses")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public java.util.List<Dtos.CourseMarkStats> courseMarkStats() {
+        return marksAnalytics.courseStats();
+    }
+
+    @GetMapping("/analytics/courses/{courseId}")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public Dtos.CourseMarkStats courseMarkStats(@PathVariable Long courseId) {
+        return marksAnalytics.courseStats(courseId);
+    }
+
+    @GetMapping("/analytics/courses/{courseId}/normalized")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public java.util.List<Dtos.NormalizedMark> normalizedMarks(@PathVariable Long courseId) {
+        return marksAnalytics.normalized(courseId);
+    }
+
+    @GetMapping("/analytics/distribution")
+    @PreAuthorize("hasAnyRole('ADMIN','TEACHER')")
+    public Dtos.GradeDistribution gradeDistribution(@RequestParam(required = false) Long courseId,
+                                                    @RequestParam(required = false) Long departmentId,
+                                                    @RequestParam(required = false) String examType) {
+        return marksAnalytics.distribution(courseId, departmentId, examType);
+    }
+
+    @GetMapping("/marks/scroll")
+    public Dtos.SliceResponse<Dtos.MarkResponse> scrollMarks(@RequestParam(required = false) Long courseId,
+                                                             @RequestParam(required = false) Long studentId,
+                                                             @RequestParam(required = false) String examType,
+                                                             @RequestParam(required = false) BigDecimal minScore,
+                                                             @RequestParam(required = false) BigDecimal maxScore,
+                                                             @RequestParam(required = false) String after,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        return engagementService.scrollMarks(courseId, studentId, examType, minScore, maxScore, after, size);
     }
 }
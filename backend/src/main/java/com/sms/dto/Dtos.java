@@ -3,6 +3,7 @@ package com.sms.dto;
 import com.sms.entity.AttendanceStatus;
 import com.sms.entity.RoleType;
 import com.sms.entity.StudentStatus;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -104,7 +105,7 @@ public final class Dtos {
     public record EnrollmentRequest(
             @NotNull Long studentId,
             @NotNull Long courseId,
-            @NotBlank String semester,
+            @NotBlank @Pattern(regexp = "\\s*\\d{4}-[Ss][1-9]\\s*") String semester,
             @NotBlank String status
     ) {}
 
@@ -129,6 +130,47 @@ public final class Dtos {
             AttendanceStatus status
     ) {}
 
+    public record AttendanceEntry(
+            @NotNull Long studentId,
+            @NotNull AttendanceStatus status
+    ) {}
+
+    public record AttendanceSessionRequest(
+            @NotNull Long courseId,
+            @NotNull LocalDate date,
+            @NotEmpty List<@Valid AttendanceEntry> entries
+    ) {}
+
+    public record AttendanceSessionResponse(
+            Long courseId,
+            LocalDate date,
+            int recorded
+    ) {}
+
+    public record AttendanceSummary(
+            Long studentId,
+            Long courseId,
+            LocalDate from,
+            LocalDate to,
+            int present,
+            int absent,
+            int late,
+            double percentage,
+            int currentStreak,
+            int longestStreak
+    ) {}
+
+    public record AttendanceRate(
+            String scope,
+            Long id,
+            LocalDate from,
+            LocalDate to,
+            long present,
+            long absent,
+            long late,
+            double percentage
+    ) {}
+
     public record MarkRequest(
             @NotNull Long studentId,
             @NotNull Long courseId,
@@ -145,6 +187,73 @@ public final class Dtos {
             BigDecimal maxMarks
     ) {}
 
+    public record GradebookEntry(
+            String rollNo,
+            BigDecimal marksObtained,
+            BigDecimal maxMarks
+    ) {}
+
+    public record CourseMarkStats(
+            Long courseId,
+            int count,
+            double mean,
+            double stddev
+    ) {}
+
+    public record NormalizedMark(
+            Long studentId,
+            String examType,
+            double score,
+            double zScore
+    ) {}
+
+    public record HistogramBucket(
+            int from,
+            int to,
+            long count
+    ) {}
+
+    public record GradeDistribution(
+            Long courseId,
+            Long departmentId,
+            String examType,
+            long count,
+            Double p10,
+            Double p50,
+            Double p90,
+            List<HistogramBucket> histogram
+    ) {}
+
+    public record TranscriptCourse(
+            Long courseId,
+            String code,
+            String title,
+            int credits,
+            Double percentage,
+            String grade,
+            Double gradePoints
+    ) {}
+
+    public record TranscriptSemester(
+            String semester,
+            int creditsGraded,
+            Double sgpa,
+            List<TranscriptCourse> courses
+    ) {}
+
+    public record Transcript(
+            Long studentId,
+            long version,
+            int creditsGraded,
+            Double cgpa,
+            List<TranscriptSemester> semesters
+    ) {}
+
+    public record TranscriptRecomputeResponse(
+            int students,
+            long elapsedMs
+    ) {}
+
     public record TopPerformer(
             Long studentId,
             String fullName,
@@ -162,5 +271,21 @@ public final class Dtos {
     public record CsvImportResponse(int processed, int succeeded, int failed, List<CsvRowError> errors) {}
     public record CsvRowError(int row, String message) {}
 
+    public record ImportJobResponse(
+            String id,
+            String status,
+            long bytesRead,
+            long totalBytes,
+            int processed,
+            int succeeded,
+            int failed,
+            List<CsvRowError> errors,
+            Instant createdAt,
+            Instant finishedAt,
+            String message
+    ) {}
+
     public record PageResponse<T>(List<T> content, long totalElements, int totalPages, int page, int size) {}
+
+    public record SliceResponse<T>(List<T> content, String next, int size) {}
 }
@@ -0,0 +1,24 @@
+package com.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Attendance counts for one student, course or department on one day. Counts over a date range
+ * are summed from these rows, which the primary key keeps in scope and date order.
+ */
+@Entity
+@Table(name = "attendance_daily_rollup")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceRollup {
+    @EmbeddedId
+    private AttendanceRollupId id;
+
+    private long present;
+    private long absent;
+    private long late;
+}
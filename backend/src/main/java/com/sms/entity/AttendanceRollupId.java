@@ -0,0 +1,25 @@
+package com.sms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.*;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class AttendanceRollupId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private RollupScope scope;
+
+    private Long scopeId;
+    private LocalDate date;
+}
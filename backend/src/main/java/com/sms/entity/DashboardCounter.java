@@ -0,0 +1,21 @@
+package com.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One stripe of a dashboard counter; the counter's value is the sum of its stripes.
+ */
+@Entity
+@Table(name = "dashboard_counter_shard")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardCounter {
+    @EmbeddedId
+    private DashboardCounterId id;
+
+    private long total;
+}
@@ -0,0 +1,17 @@
+package com.sms.entity;
+
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import lombok.*;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class DashboardCounterId implements Serializable {
+    private String name;
+    private int shard;
+}
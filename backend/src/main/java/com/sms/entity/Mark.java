@@ -10,6 +10,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = @Index(name = "idx_mark_course", columnList = "course_id, student_id, exam_type"))
 public class Mark {
     @EmbeddedId
     private MarkId id;
@@ -0,0 +1,20 @@
+package com.sms.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import lombok.*;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(columnList = "expiresAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+    @Id
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,7 @@
+package com.sms.entity;
+
+public enum RollupScope {
+    STUDENT,
+    COURSE,
+    DEPARTMENT
+}
@@ -0,0 +1,19 @@
+package com.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "student_mark_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentMarkSummary {
+    @Id
+    private Long studentId;
+
+    private double scoreSum;
+    private long markCount;
+}
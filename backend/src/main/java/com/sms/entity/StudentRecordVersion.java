@@ -0,0 +1,18 @@
+package com.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "student_record_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentRecordVersion {
+    @Id
+    private Long studentId;
+
+    private long version;
+}
@@ -3,8 +3,12 @@ package com.sms.entity;
 import jakarta.persistence.*;
 import java.util.List;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,7 +16,8 @@ import lombok.*;
 @Builder
 public class Teacher {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teacher_seq")
+    @SequenceGenerator(name = "teacher_seq", sequenceName = "teacher_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
@@ -26,5 +31,6 @@ public class Teacher {
     private Department department;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher-subjects")
     private List<String> subjects;
 }
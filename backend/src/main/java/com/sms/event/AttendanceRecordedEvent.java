@@ -0,0 +1,15 @@
+package com.sms.event;
+
+import com.sms.entity.AttendanceStatus;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published inside the transaction that writes attendance. {@code previous} is null for rows
+ * that did not exist before.
+ */
+public record AttendanceRecordedEvent(List<Change> changes) {
+
+    public record Change(Long studentId, Long courseId, LocalDate date,
+                         AttendanceStatus previous, AttendanceStatus current) {}
+}
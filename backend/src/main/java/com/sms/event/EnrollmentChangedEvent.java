@@ -0,0 +1,7 @@
+package com.sms.event;
+
+/**
+ * Published inside the transaction that enrolls a student in a course or changes the enrollment.
+ */
+public record EnrollmentChangedEvent(Long studentId, Long courseId) {
+}
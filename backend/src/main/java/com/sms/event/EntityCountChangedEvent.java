@@ -0,0 +1,13 @@
+package com.sms.event;
+
+/**
+ * Published inside the transaction that creates or deletes students, teachers or courses.
+ */
+public record EntityCountChangedEvent(Type type, long delta) {
+
+    public enum Type {
+        STUDENT,
+        TEACHER,
+        COURSE
+    }
+}
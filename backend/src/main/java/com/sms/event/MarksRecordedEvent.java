@@ -0,0 +1,20 @@
+package com.sms.event;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published inside the transaction that writes marks. The previous values are null for marks
+ * that did not exist before.
+ */
+public record MarksRecordedEvent(List<Change> changes) {
+
+    public record Change(Long studentId, Long departmentId, Long courseId, String examType,
+                         BigDecimal previousObtained, BigDecimal previousMax,
+                         BigDecimal obtained, BigDecimal max) {
+
+        public boolean created() {
+            return previousMax == null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sms.event;
+
+/**
+ * Published inside the transaction that creates, updates or deletes a student. The searchable
+ * fields are null for a deleted student.
+ */
+public record StudentChangedEvent(Long studentId, boolean deleted,
+                                  String firstName, String lastName, String rollNo, String email) {
+
+    public static StudentChangedEvent saved(Long studentId, String firstName, String lastName, String rollNo,
+                                            String email) {
+        return new StudentChangedEvent(studentId, false, firstName, lastName, rollNo, email);
+    }
+
+    public static StudentChangedEvent deleted(Long studentId) {
+        return new StudentChangedEvent(studentId, true, null, null, null, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.sms.exception;
+
+import com.sms.dto.Dtos;
+import java.util.List;
+
+public class RowValidationException extends RuntimeException {
+
+    private final List<Dtos.CsvRowError> errors;
+
+    public RowValidationException(List<Dtos.CsvRowError> errors) {
+        super(errors.size() + " rows failed validation");
+        this.errors = errors;
+    }
+
+    public List<Dtos.CsvRowError> getErrors() {
+        return errors;
+    }
+}
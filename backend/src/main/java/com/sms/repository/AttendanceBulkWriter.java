@@ -0,0 +1,17 @@
+package com.sms.repository;
+
+import com.sms.entity.AttendanceStatus;
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface AttendanceBulkWriter {
+
+    /**
+     * Inserts or overwrites one course session in JDBC batches, returning the status each student
+     * had before; students without a previous row are absent from the result. Rows that already
+     * exist are locked before they are read, so concurrent writes to the same student, course and
+     * date see each other's values. Joins the caller's transaction; entities already loaded in the
+     * persistence context are not refreshed.
+     */
+    Map<Long, AttendanceStatus> upsertSession(Long courseId, LocalDate date, Map<Long, AttendanceStatus> statuses);
+}
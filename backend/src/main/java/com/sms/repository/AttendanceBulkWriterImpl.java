@@ -0,0 +1,56 @@
+package com.sms.repository;
+
+import com.sms.entity.AttendanceStatus;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+class AttendanceBulkWriterImpl implements AttendanceBulkWriter {
+
+    private static final String[] KEY = {"student_id", "course_id", "date"};
+    private static final String[] STATUS = {"status"};
+    private static final int LOCK_BATCH = 1000;
+    private static final String UPDATE = "UPDATE attendance SET status = ? WHERE student_id = ? AND course_id = ? AND date = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcUpserts upserts;
+
+    @Override
+    public Map<Long, AttendanceStatus> upsertSession(Long courseId, LocalDate date, Map<Long, AttendanceStatus> statuses) {
+        Date day = Date.valueOf(date);
+        List<Long> studentIds = statuses.keySet().stream().sorted().toList();
+        List<Object[]> inserts = new ArrayList<>(studentIds.size());
+        studentIds.forEach(studentId -> inserts.add(new Object[]{studentId, courseId, day, statuses.get(studentId).name()}));
+        boolean[] inserted = upserts.insertAbsent(jdbcTemplate, "attendance", KEY, STATUS, inserts);
+        List<Long> existing = new ArrayList<>();
+        for (int i = 0; i < inserted.length; i++) {
+            if (!inserted[i]) {
+                existing.add(studentIds.get(i));
+            }
+        }
+        Map<Long, AttendanceStatus> previous = new HashMap<>();
+        for (int i = 0; i < existing.size(); i += LOCK_BATCH) {
+            List<Long> batch = existing.subList(i, Math.min(i + LOCK_BATCH, existing.size()));
+            List<Object> args = new ArrayList<>(batch.size() + 2);
+            args.add(courseId);
+            args.add(day);
+            args.addAll(batch);
+            jdbcTemplate.query("SELECT student_id, status FROM attendance WHERE course_id = ? AND date = ? AND student_id IN ("
+                            + String.join(", ", Collections.nCopies(batch.size(), "?")) + ") FOR UPDATE",
+                    rs -> {
+                        previous.put(rs.getLong(1), AttendanceStatus.valueOf(rs.getString(2)));
+                    }, args.toArray());
+        }
+        List<Object[]> updates = new ArrayList<>(existing.size());
+        existing.forEach(studentId -> updates.add(new Object[]{statuses.get(studentId).name(), studentId, courseId, day}));
+        jdbcTemplate.batchUpdate(UPDATE, updates);
+        return previous;
+    }
+}
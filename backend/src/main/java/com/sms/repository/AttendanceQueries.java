@@ -0,0 +1,15 @@
+package com.sms.repository;
+
+import com.sms.dto.Dtos;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public interface AttendanceQueries {
+
+    /**
+     * Filtered attendance in primary-key order; every filter is optional and only the ones that
+     * are set become predicates. Rows are responses rather than entities, so a long stream leaves
+     * nothing in the persistence context.
+     */
+    Stream<Dtos.AttendanceResponse> streamForExport(Long courseId, Long studentId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,46 @@
+package com.sms.repository;
+
+import com.sms.dto.Dtos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+@RequiredArgsConstructor
+class AttendanceQueriesImpl implements AttendanceQueries {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Dtos.AttendanceResponse> streamForExport(Long courseId, Long studentId, LocalDate from, LocalDate to) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.sms.dto.Dtos$AttendanceResponse(a.id.studentId, a.id.courseId, a.id.date, a.status) " +
+                        "FROM Attendance a");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        filter(jpql, parameters, "a.id.courseId =", "courseId", courseId);
+        filter(jpql, parameters, "a.id.studentId =", "studentId", studentId);
+        filter(jpql, parameters, "a.id.date >=", "from", from);
+        filter(jpql, parameters, "a.id.date <=", "to", to);
+        jpql.append(" ORDER BY a.id.studentId, a.id.courseId, a.id.date");
+
+        TypedQuery<Dtos.AttendanceResponse> query =
+                entityManager.createQuery(jpql.toString(), Dtos.AttendanceResponse.class);
+        parameters.forEach(query::setParameter);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        return query.getResultStream();
+    }
+
+    private static void filter(StringBuilder jpql, Map<String, Object> parameters, String predicate, String name,
+                               Object value) {
+        if (value != null) {
+            jpql.append(parameters.isEmpty() ? " WHERE " : " AND ").append(predicate).append(" :").append(name);
+            parameters.put(name, value);
+        }
+    }
+}
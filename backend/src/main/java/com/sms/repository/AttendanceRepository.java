@@ -1,15 +1,41 @@
 package com.sms.repository;
 
+import com.sms.dto.Dtos;
 import com.sms.entity.Attendance;
 import com.sms.entity.AttendanceId;
+import com.sms.entity.AttendanceStatus;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-public interface AttendanceRepository extends JpaRepository<Attendance, AttendanceId> {
+public interface AttendanceRepository extends JpaRepository<Attendance, AttendanceId>, AttendanceBulkWriter, AttendanceQueries {
 
-    @Query("SELECT AVG(CASE WHEN a.status = 'PRESENT' THEN 1.0 ELSE 0.0 END) FROM Attendance a")
-    Double findAverageAttendance();
+    /**
+     * One course's attendance in (student, date) order after the given key. Start from student
+     * {@code 0}; the date is then irrelevant.
+     */
+    @Query("SELECT new com.sms.dto.Dtos$AttendanceResponse(a.id.studentId, a.id.courseId, a.id.date, a.status) " +
+            "FROM Attendance a " +
+            "WHERE a.id.courseId = :courseId AND (a.id.studentId, a.id.date) > (:afterStudentId, :afterDate) " +
+            "ORDER BY a.id.studentId, a.id.date")
+    List<Dtos.AttendanceResponse> findResponsesByCourse(Long courseId, Long afterStudentId, LocalDate afterDate,
+                                                        Limit limit);
 
-    List<Attendance> findByIdCourseId(Long courseId);
+    /**
+     * All attendance in primary-key order after the given key. Start from student {@code 0}; the
+     * other keys are then irrelevant.
+     */
+    @Query("SELECT new com.sms.dto.Dtos$AttendanceResponse(a.id.studentId, a.id.courseId, a.id.date, a.status) " +
+            "FROM Attendance a " +
+            "WHERE (a.id.studentId, a.id.courseId, a.id.date) > (:afterStudentId, :afterCourseId, :afterDate) " +
+            "ORDER BY a.id.studentId, a.id.courseId, a.id.date")
+    List<Dtos.AttendanceResponse> findAllResponses(Long afterStudentId, Long afterCourseId, LocalDate afterDate,
+                                                   Limit limit);
+
+    @Query("SELECT a.status FROM Attendance a " +
+            "WHERE a.id.studentId = :studentId AND a.id.courseId = :courseId AND a.id.date BETWEEN :from AND :to " +
+            "ORDER BY a.id.date")
+    List<AttendanceStatus> findTimeline(Long studentId, Long courseId, LocalDate from, LocalDate to);
 }
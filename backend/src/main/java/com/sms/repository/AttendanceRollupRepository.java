@@ -0,0 +1,26 @@
+package com.sms.repository;
+
+import com.sms.entity.AttendanceRollup;
+import com.sms.entity.AttendanceRollupId;
+import com.sms.entity.RollupScope;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface AttendanceRollupRepository extends JpaRepository<AttendanceRollup, AttendanceRollupId> {
+
+    /**
+     * Present, absent and late counts summed over the days from {@code from} to {@code to}
+     * inclusive, as a single row.
+     */
+    @Query("SELECT COALESCE(SUM(r.present), 0), COALESCE(SUM(r.absent), 0), COALESCE(SUM(r.late), 0) " +
+            "FROM AttendanceRollup r " +
+            "WHERE r.id.scope = :scope AND r.id.scopeId = :scopeId AND r.id.date BETWEEN :from AND :to")
+    List<Object[]> sumBetween(RollupScope scope, Long scopeId, LocalDate from, LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(r.present), 0), COALESCE(SUM(r.absent), 0), COALESCE(SUM(r.late), 0) " +
+            "FROM AttendanceRollup r " +
+            "WHERE r.id.scope = :scope AND r.id.scopeId = :scopeId AND r.id.date <= :to")
+    List<Object[]> sumUpTo(RollupScope scope, Long scopeId, LocalDate to);
+}
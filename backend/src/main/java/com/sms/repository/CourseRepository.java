@@ -1,12 +1,32 @@
 package com.sms.repository;
 
+import com.sms.dto.Dtos;
 import com.sms.entity.Course;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
-    Page<Course> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Course> findByCode(String code);
+    List<Course> findByIdGreaterThanAndTitleContainingIgnoreCaseOrderByIdAsc(Long id, String title, Limit limit);
+
+    @Query(value = "SELECT new com.sms.dto.Dtos$CourseResponse(c.id, c.code, c.title, c.description, c.credits, " +
+            "c.department.id, c.teacher.id) FROM Course c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%')) ORDER BY c.id",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))")
+    Page<Dtos.CourseResponse> findResponsesByTitle(String title, Pageable pageable);
+
+    @Query("SELECT c.id, c.department.id FROM Course c WHERE c.id IN :ids")
+    List<Object[]> findDepartmentIds(Collection<Long> ids);
+
+    @Query("SELECT c.id FROM Course c WHERE c.department.id = :departmentId")
+    List<Long> findIdsByDepartmentId(Long departmentId);
 }
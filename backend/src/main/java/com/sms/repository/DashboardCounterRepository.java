@@ -0,0 +1,13 @@
+package com.sms.repository;
+
+import com.sms.entity.DashboardCounter;
+import com.sms.entity.DashboardCounterId;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, DashboardCounterId> {
+
+    @Query("SELECT c.id.name, SUM(c.total) FROM DashboardCounter c GROUP BY c.id.name")
+    List<Object[]> sumByName();
+}
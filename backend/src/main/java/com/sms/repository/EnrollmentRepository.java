@@ -2,7 +2,18 @@ package com.sms.repository;
 
 import com.sms.entity.Enrollment;
 import com.sms.entity.EnrollmentId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, EnrollmentId> {
+
+    @Query("SELECT DISTINCT e.id.studentId FROM Enrollment e WHERE e.id.courseId = :courseId AND e.id.studentId IN :studentIds")
+    Set<Long> findEnrolledStudentIds(Long courseId, Collection<Long> studentIds);
+
+    @Query("SELECT e.id.studentId, e.id.semester, c.id, c.code, c.title, c.credits FROM Enrollment e JOIN e.course c " +
+            "WHERE e.id.studentId IN :studentIds AND UPPER(e.status) NOT IN ('DROPPED', 'WITHDRAWN') ORDER BY e.id.studentId, e.id.semester, c.code")
+    List<Object[]> findTranscriptRows(Collection<Long> studentIds);
 }
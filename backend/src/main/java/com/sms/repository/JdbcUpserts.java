@@ -0,0 +1,148 @@
+package com.sms.repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds single-statement upserts for the databases the application runs on: {@code MERGE} on H2
+ * and {@code INSERT ... ON CONFLICT} on PostgreSQL. Parameters are the key columns followed by
+ * the value columns, in the order given. Also covers the other statements whose syntax differs
+ * between the two, such as the locks taken by the aggregate rebuilds.
+ */
+@Component
+public class JdbcUpserts {
+
+    private final boolean postgres;
+
+    public JdbcUpserts(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            this.postgres = connection.getMetaData().getDatabaseProductName()
+                    .toLowerCase(Locale.ROOT).contains("postgres");
+        }
+    }
+
+    public String upsert(String table, String[] keyColumns, String... valueColumns) {
+        String keys = String.join(", ", keyColumns);
+        String columns = columns(keyColumns, valueColumns);
+        String placeholders = placeholders(keyColumns.length + valueColumns.length);
+        if (!postgres) {
+            return "MERGE INTO " + table + " (" + columns + ") KEY (" + keys + ") VALUES (" + placeholders + ")";
+        }
+        String updates = Arrays.stream(valueColumns).map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")"
+                + " ON CONFLICT (" + keys + ") DO UPDATE SET " + updates;
+    }
+
+    /**
+     * Like {@link #upsert} but for every row of {@code query}, whose columns are the key columns
+     * followed by the value columns.
+     */
+    public String upsertSelect(String table, String[] keyColumns, String[] valueColumns, String query) {
+        String keys = String.join(", ", keyColumns);
+        String columns = columns(keyColumns, valueColumns);
+        if (!postgres) {
+            return "MERGE INTO " + table + " (" + columns + ") KEY (" + keys + ") " + query;
+        }
+        String updates = Arrays.stream(valueColumns).map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + columns + ") " + query
+                + " ON CONFLICT (" + keys + ") DO UPDATE SET " + updates;
+    }
+
+    /**
+     * Like {@link #upsert} but adds the given values to an existing row instead of replacing them.
+     */
+    public String increment(String table, String[] keyColumns, String... valueColumns) {
+        String columns = columns(keyColumns, valueColumns);
+        String placeholders = placeholders(keyColumns.length + valueColumns.length);
+        if (!postgres) {
+            String on = Arrays.stream(keyColumns).map(c -> "t." + c + " = s." + c).collect(Collectors.joining(" AND "));
+            String updates = Arrays.stream(valueColumns).map(c -> c + " = t." + c + " + s." + c)
+                    .collect(Collectors.joining(", "));
+            String inserts = Stream.concat(Arrays.stream(keyColumns), Arrays.stream(valueColumns))
+                    .map(c -> "s." + c).collect(Collectors.joining(", "));
+            return "MERGE INTO " + table + " t USING (VALUES (" + placeholders + ")) s(" + columns + ") ON " + on
+                    + " WHEN MATCHED THEN UPDATE SET " + updates
+                    + " WHEN NOT MATCHED THEN INSERT (" + columns + ") VALUES (" + inserts + ")";
+        }
+        String updates = Arrays.stream(valueColumns).map(c -> c + " = " + table + "." + c + " + EXCLUDED." + c)
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")"
+                + " ON CONFLICT (" + String.join(", ", keyColumns) + ") DO UPDATE SET " + updates;
+    }
+
+    /**
+     * Inserts the row unless one with the same key already exists, which is left as it is.
+     */
+    public String insertIfAbsent(String table, String[] keyColumns, String... valueColumns) {
+        String columns = columns(keyColumns, valueColumns);
+        String placeholders = placeholders(keyColumns.length + valueColumns.length);
+        if (!postgres) {
+            String on = Arrays.stream(keyColumns).map(c -> "t." + c + " = s." + c).collect(Collectors.joining(" AND "));
+            String inserts = Stream.concat(Arrays.stream(keyColumns), Arrays.stream(valueColumns))
+                    .map(c -> "s." + c).collect(Collectors.joining(", "));
+            return "MERGE INTO " + table + " t USING (VALUES (" + placeholders + ")) s(" + columns + ") ON " + on
+                    + " WHEN NOT MATCHED THEN INSERT (" + columns + ") VALUES (" + inserts + ")";
+        }
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")"
+                + " ON CONFLICT (" + String.join(", ", keyColumns) + ") DO NOTHING";
+    }
+
+    /**
+     * Runs {@link #insertIfAbsent} for every row in one batch and returns, per row, whether it was
+     * inserted. A row whose key another transaction is inserting at the same time counts as not
+     * inserted: PostgreSQL waits for that transaction and skips the row, H2 rejects the row as a
+     * key violation without aborting the transaction. Either way the caller can lock and read the
+     * row afterwards. Relies on the driver reporting a count per row, which rules out the
+     * PostgreSQL driver's {@code reWriteBatchedInserts}.
+     */
+    public boolean[] insertAbsent(JdbcTemplate jdbcTemplate, String table, String[] keyColumns, String[] valueColumns,
+                                  List<Object[]> rows) {
+        int[] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(insertIfAbsent(table, keyColumns, valueColumns), rows);
+        } catch (DuplicateKeyException ex) {
+            if (postgres || !(ex.getCause() instanceof BatchUpdateException batch)
+                    || batch.getUpdateCounts().length != rows.size()) {
+                throw ex;
+            }
+            counts = batch.getUpdateCounts();
+        }
+        boolean[] inserted = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            inserted[i] = counts[i] > 0;
+        }
+        return inserted;
+    }
+
+    /**
+     * A statement that keeps other transactions from writing the table until the current
+     * transaction ends while still letting them read. On PostgreSQL it is a table lock, which also
+     * waits for writers already in flight. H2 has no table locks, so the rows that exist are
+     * locked instead; callers that need every write blocked create the rows writers use first.
+     */
+    public String lockAgainstWriters(String table) {
+        if (postgres) {
+            return "LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE";
+        }
+        return "SELECT 1 FROM " + table + " FOR UPDATE";
+    }
+
+    private static String columns(String[] keyColumns, String[] valueColumns) {
+        return String.join(", ", keyColumns) + ", " + String.join(", ", valueColumns);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
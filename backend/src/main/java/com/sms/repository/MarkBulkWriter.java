@@ -0,0 +1,19 @@
+package com.sms.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public interface MarkBulkWriter {
+
+    record MarkRow(Long studentId, BigDecimal marksObtained, BigDecimal maxMarks) {}
+
+    /**
+     * Inserts or overwrites the marks of one exam in JDBC batches, returning the marks they
+     * replaced by student id; students without a previous mark are absent from the result. Marks
+     * that already exist are locked before they are read, so concurrent writes to the same mark
+     * see each other's values. Joins the caller's transaction; entities already loaded in the
+     * persistence context are not refreshed.
+     */
+    Map<Long, MarkRow> upsertExam(Long courseId, String examType, List<MarkRow> rows);
+}
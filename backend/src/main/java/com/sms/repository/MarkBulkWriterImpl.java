@@ -0,0 +1,56 @@
+package com.sms.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+class MarkBulkWriterImpl implements MarkBulkWriter {
+
+    private static final String[] KEY = {"student_id", "course_id", "exam_type"};
+    private static final String[] VALUES = {"marks_obtained", "max_marks"};
+    private static final int LOCK_BATCH = 1000;
+    private static final String UPDATE = "UPDATE mark SET marks_obtained = ?, max_marks = ? " +
+            "WHERE student_id = ? AND course_id = ? AND exam_type = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcUpserts upserts;
+
+    @Override
+    public Map<Long, MarkRow> upsertExam(Long courseId, String examType, List<MarkRow> rows) {
+        List<MarkRow> sorted = rows.stream().sorted(Comparator.comparing(MarkRow::studentId)).toList();
+        boolean[] inserted = upserts.insertAbsent(jdbcTemplate, "mark", KEY, VALUES,
+                sorted.stream()
+                        .map(row -> new Object[]{row.studentId(), courseId, examType, row.marksObtained(), row.maxMarks()})
+                        .toList());
+        List<MarkRow> existing = new ArrayList<>();
+        for (int i = 0; i < inserted.length; i++) {
+            if (!inserted[i]) {
+                existing.add(sorted.get(i));
+            }
+        }
+        Map<Long, MarkRow> previous = new HashMap<>();
+        for (int i = 0; i < existing.size(); i += LOCK_BATCH) {
+            List<MarkRow> batch = existing.subList(i, Math.min(i + LOCK_BATCH, existing.size()));
+            List<Object> args = new ArrayList<>(batch.size() + 2);
+            args.add(courseId);
+            args.add(examType);
+            batch.forEach(row -> args.add(row.studentId()));
+            jdbcTemplate.query("SELECT student_id, marks_obtained, max_marks FROM mark " +
+                            "WHERE course_id = ? AND exam_type = ? AND student_id IN ("
+                            + String.join(", ", Collections.nCopies(batch.size(), "?")) + ") FOR UPDATE",
+                    rs -> {
+                        previous.put(rs.getLong(1), new MarkRow(rs.getLong(1), rs.getBigDecimal(2), rs.getBigDecimal(3)));
+                    }, args.toArray());
+        }
+        jdbcTemplate.batchUpdate(UPDATE, existing.stream()
+                .map(row -> new Object[]{row.marksObtained(), row.maxMarks(), row.studentId(), courseId, examType})
+                .toList());
+        return previous;
+    }
+}
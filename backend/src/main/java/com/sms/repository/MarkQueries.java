@@ -0,0 +1,20 @@
+package com.sms.repository;
+
+import com.sms.dto.Dtos;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+
+public interface MarkQueries {
+
+    /**
+     * Filtered marks in primary-key order after the given key; every filter is optional. Only the
+     * filters that are set become predicates, and the key is compared as one row value, so the
+     * database can seek the primary key index. Rows are projected straight into responses, so no
+     * entities are loaded or tracked.
+     */
+    List<Dtos.MarkResponse> findResponses(Long courseId, Long studentId, String examType,
+                                          BigDecimal minScore, BigDecimal maxScore,
+                                          Long afterStudentId, Long afterCourseId, String afterExamType,
+                                          Limit limit);
+}
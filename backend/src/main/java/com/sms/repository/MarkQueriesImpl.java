@@ -0,0 +1,53 @@
+package com.sms.repository;
+
+import com.sms.dto.Dtos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+
+@RequiredArgsConstructor
+class MarkQueriesImpl implements MarkQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Dtos.MarkResponse> findResponses(Long courseId, Long studentId, String examType,
+                                                 BigDecimal minScore, BigDecimal maxScore,
+                                                 Long afterStudentId, Long afterCourseId, String afterExamType,
+                                                 Limit limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.sms.dto.Dtos$MarkResponse(m.id.studentId, m.id.courseId, m.id.examType, m.marksObtained, m.maxMarks) " +
+                        "FROM Mark m " +
+                        "WHERE (m.id.studentId, m.id.courseId, m.id.examType) > (:afterStudentId, :afterCourseId, :afterExamType)");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("afterStudentId", afterStudentId);
+        parameters.put("afterCourseId", afterCourseId);
+        parameters.put("afterExamType", afterExamType);
+        filter(jpql, parameters, "m.id.courseId =", "courseId", courseId);
+        filter(jpql, parameters, "m.id.studentId =", "studentId", studentId);
+        filter(jpql, parameters, "m.id.examType =", "examType", examType);
+        filter(jpql, parameters, "m.marksObtained >=", "minScore", minScore);
+        filter(jpql, parameters, "m.marksObtained <=", "maxScore", maxScore);
+        jpql.append(" ORDER BY m.id.studentId, m.id.courseId, m.id.examType");
+
+        TypedQuery<Dtos.MarkResponse> query = entityManager.createQuery(jpql.toString(), Dtos.MarkResponse.class);
+        parameters.forEach(query::setParameter);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    private static void filter(StringBuilder jpql, Map<String, Object> parameters, String predicate, String name,
+                               Object value) {
+        if (value != null) {
+            jpql.append(" AND ").append(predicate).append(" :").append(name);
+            parameters.put(name, value);
+        }
+    }
+}
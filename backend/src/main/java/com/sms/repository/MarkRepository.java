@@ -2,14 +2,22 @@ package com.sms.repository;
 
 import com.sms.entity.Mark;
 import com.sms.entity.MarkId;
+import java.util.Collection;
 import java.util.List;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
-public interface MarkRepository extends JpaRepository<Mark, MarkId> {
+public interface MarkRepository extends JpaRepository<Mark, MarkId>, MarkBulkWriter, MarkQueries {
 
-    @Query("SELECT m.student.id, m.student.firstName, m.student.lastName, AVG(m.marksObtained / m.maxMarks) " +
-            "FROM Mark m GROUP BY m.student.id, m.student.firstName, m.student.lastName ORDER BY AVG(m.marksObtained / m.maxMarks) DESC")
-    List<Object[]> findTopPerformers(Pageable pageable);
+    @Query("SELECT m.id.courseId, m.id.studentId, SUM(CAST(m.marksObtained AS Double) / CAST(m.maxMarks AS Double)), COUNT(m) " +
+            "FROM Mark m GROUP BY m.id.courseId, m.id.studentId")
+    List<Object[]> sumScoresByCourseAndStudent();
+
+    @Query("SELECT m.id.courseId, m.id.studentId, SUM(CAST(m.marksObtained AS Double) / CAST(m.maxMarks AS Double)), COUNT(m) " +
+            "FROM Mark m WHERE m.id.studentId IN :studentIds GROUP BY m.id.courseId, m.id.studentId")
+    List<Object[]> sumScoresByCourseAndStudentIn(Collection<Long> studentIds);
+
+    @Query("SELECT m.id.studentId, m.id.courseId, SUM(m.marksObtained), SUM(m.maxMarks) FROM Mark m " +
+            "WHERE m.id.studentId IN :studentIds GROUP BY m.id.studentId, m.id.courseId")
+    List<Object[]> sumMarksByStudentAndCourse(Collection<Long> studentIds);
 }
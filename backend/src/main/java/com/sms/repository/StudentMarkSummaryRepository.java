@@ -0,0 +1,20 @@
+package com.sms.repository;
+
+import com.sms.entity.StudentMarkSummary;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface StudentMarkSummaryRepository extends JpaRepository<StudentMarkSummary, Long> {
+
+    @Query("SELECT s.studentId, d.id, s.scoreSum, s.markCount " +
+            "FROM StudentMarkSummary s JOIN Student st ON st.id = s.studentId LEFT JOIN st.department d " +
+            "WHERE s.markCount > 0")
+    List<Object[]> findAllWithDepartment();
+
+    @Query("SELECT s.studentId, d.id, s.scoreSum, s.markCount " +
+            "FROM StudentMarkSummary s JOIN Student st ON st.id = s.studentId LEFT JOIN st.department d " +
+            "WHERE s.studentId IN :studentIds")
+    List<Object[]> findWithDepartmentByStudentIdIn(Collection<Long> studentIds);
+}
@@ -0,0 +1,7 @@
+package com.sms.repository;
+
+import com.sms.entity.StudentRecordVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StudentRecordVersionRepository extends JpaRepository<StudentRecordVersion, Long> {
+}
@@ -1,14 +1,55 @@
 package com.sms.repository;
 
+import com.sms.dto.Dtos;
 import com.sms.entity.Student;
 import com.sms.entity.StudentStatus;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
-    Page<Student> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String first, String last, Pageable pageable);
     long countByStatus(StudentStatus status);
     Optional<Student> findByRollNo(String rollNo);
+    List<Student> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Students after {@code after} whose name, roll number or email contains {@code search}: the
+     * same fields the in-memory search index covers, for when it is not ready.
+     */
+    @Query("SELECT s FROM Student s WHERE s.id > :after AND (LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.rollNo) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%'))) ORDER BY s.id")
+    List<Student> scrollBySearch(Long after, String search, Limit limit);
+
+    @Query(value = "SELECT new com.sms.dto.Dtos$StudentResponse(s.id, s.rollNo, s.firstName, s.lastName, s.email, s.phone, " +
+            "s.dob, s.gender, s.address, s.department.id, s.enrollDate, s.profilePhotoUrl, s.status) FROM Student s " +
+            "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.rollNo) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY s.id",
+            countQuery = "SELECT COUNT(s) FROM Student s WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                    "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                    "OR LOWER(s.rollNo) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                    "OR LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<Dtos.StudentResponse> findResponsesBySearch(String search, Pageable pageable);
+
+    @Query("SELECT new com.sms.dto.Dtos$StudentResponse(s.id, s.rollNo, s.firstName, s.lastName, s.email, s.phone, " +
+            "s.dob, s.gender, s.address, s.department.id, s.enrollDate, s.profilePhotoUrl, s.status) FROM Student s " +
+            "WHERE s.id IN :ids")
+    List<Dtos.StudentResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT s.rollNo, s.id, d.id FROM Student s LEFT JOIN s.department d WHERE s.rollNo IN :rollNos")
+    List<Object[]> findIdsByRollNos(Collection<String> rollNos);
+
+    @Query("SELECT s.rollNo FROM Student s WHERE s.rollNo IN :rollNos")
+    List<String> findExistingRollNos(Collection<String> rollNos);
+
+    @Query("SELECT s.id FROM Student s WHERE s.id > :after ORDER BY s.id")
+    List<Long> findIdsAfter(Long after, Limit limit);
 }
@@ -1,9 +1,30 @@
 package com.sms.repository;
 
 import com.sms.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<Teacher> findByEmployeeId(String employeeId);
+
+	@Query(value = "SELECT t.id FROM Teacher t ORDER BY t.id", countQuery = "SELECT COUNT(t) FROM Teacher t")
+	Page<Long> findIds(Pageable pageable);
+
+	@Query("SELECT t.id FROM Teacher t WHERE t.id > :after ORDER BY t.id")
+	List<Long> findIdsAfter(Long after, Limit limit);
+
+	/** One row per subject (a single row with a null subject for teachers without any), ordered by id. */
+	@Query("SELECT t.id, t.employeeId, t.name, t.email, t.phone, t.department.id, s FROM Teacher t " +
+			"LEFT JOIN t.subjects s WHERE t.id IN :ids ORDER BY t.id")
+	List<Object[]> findResponseRows(Collection<Long> ids);
 }
@@ -1,13 +1,18 @@
 package com.sms.security;
 
 import com.sms.entity.AppUser;
+import com.sms.entity.RoleType;
 import com.sms.repository.AppUserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,9 +28,14 @@ public class JwtService {
     @Value("${jwt.expirationMs:86400000}")
     private long expirationMs;
 
+    @Value("${jwt.statelessPrincipal:false}")
+    private boolean statelessPrincipal;
+
     private byte[] secretBytes;
 
     private final AppUserRepository userRepository;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenDenylist denylist;
 
     @PostConstruct
     void init() {
@@ -35,25 +45,68 @@ public class JwtService {
     public String generateToken(AppUser user) {
         Instant now = Instant.now();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getEmail())
                 .claim("role", user.getRole().name())
+                .claim("uid", user.getId())
+                .claim("ref", user.getReferenceId())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(now.plusMillis(expirationMs)))
                 .signWith(SignatureAlgorithm.HS256, secretBytes)
                 .compact();
     }
 
-    public boolean isTokenValid(String token) {
-        try {
-            var claims = Jwts.parser().setSigningKey(secretBytes).parseClaimsJws(token);
-            return claims.getBody().getExpiration().after(new Date());
-        } catch (Exception ex) {
+    public Optional<UserDetails> authenticate(String token) {
+        Optional<VerifiedToken> cached = tokenCache.get(token);
+        if (cached.isPresent()) {
+            return denylist.isRevoked(cached.get().jti())
+                    ? Optional.empty()
+                    : Optional.of(cached.get().principal());
+        }
+        Optional<Claims> claims = parse(token);
+        if (claims.isEmpty() || denylist.isRevoked(claims.get().getId())) {
+            return Optional.empty();
+        }
+        Optional<UserDetails> principal = statelessPrincipal
+                ? principalFromClaims(claims.get())
+                : userRepository.findByEmail(claims.get().getSubject()).map(user -> user);
+        principal.ifPresent(user -> tokenCache.put(token,
+                new VerifiedToken(user, claims.get().getId(), claims.get().getExpiration().toInstant())));
+        return principal;
+    }
+
+    public boolean revoke(String token) {
+        Optional<Claims> claims = parse(token);
+        if (claims.isEmpty() || claims.get().getId() == null) {
             return false;
         }
+        denylist.revoke(claims.get().getId(), claims.get().getExpiration().toInstant());
+        tokenCache.invalidate(token);
+        return true;
     }
 
-    public UserDetails getUserDetails(String token) {
-        String email = Jwts.parser().setSigningKey(secretBytes).parseClaimsJws(token).getBody().getSubject();
-        return userRepository.findByEmail(email).orElseThrow();
+    private Optional<UserDetails> principalFromClaims(Claims claims) {
+        String role = claims.get("role", String.class);
+        if (role == null) {
+            return Optional.empty();
+        }
+        return Optional.of(AppUser.builder()
+                .id(claims.get("uid", Long.class))
+                .email(claims.getSubject())
+                .role(RoleType.valueOf(role))
+                .referenceId(claims.get("ref", Long.class))
+                .build());
+    }
+
+    private Optional<Claims> parse(String token) {
+        try {
+            Claims claims = Jwts.parser().setSigningKey(secretBytes).parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null || !claims.getExpiration().after(new Date())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
     }
 }
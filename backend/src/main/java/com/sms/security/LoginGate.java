@@ -0,0 +1,133 @@
+package com.sms.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sms.exception.TooManyRequestsException;
+import com.sms.util.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control for password hashing. Login and registration run BCrypt on a small bounded
+ * pool instead of the servlet threads; callers over their per-account or per-IP token bucket, or
+ * arriving while the pool queue is full, get an immediate 429.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginGate {
+
+    @Value("${auth.executor.threads:0}")
+    private int threads;
+
+    @Value("${auth.executor.queueCapacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.executor.timeoutMs:5000}")
+    private long timeoutMs;
+
+    @Value("${auth.throttle.account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${auth.throttle.account.refillPerMinute:5}")
+    private double accountRefillPerMinute;
+
+    @Value("${auth.throttle.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${auth.throttle.ip.refillPerMinute:60}")
+    private double ipRefillPerMinute;
+
+    private final MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor pool;
+    private ExecutorService executor;
+    private Cache<String, TokenBucket> accountBuckets;
+    private Cache<String, TokenBucket> ipBuckets;
+
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "auth.hashing");
+        this.accountBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public <T> T execute(String email, String clientIp, Callable<T> task) {
+        admit(accountBuckets, email == null ? "" : email.toLowerCase(Locale.ROOT),
+                accountCapacity, accountRefillPerMinute, "account", "Too many attempts for this account");
+        admit(ipBuckets, clientIp == null ? "" : clientIp,
+                ipCapacity, ipRefillPerMinute, "ip", "Too many attempts from this address");
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw rejected("capacity");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw rejected("timeout");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for authentication", ex);
+        }
+    }
+
+    private void admit(Cache<String, TokenBucket> buckets, String key, int capacity, double refillPerMinute,
+                       String scope, String message) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerMinute / 60d));
+        if (!bucket.tryAcquire()) {
+            meterRegistry.counter("auth.throttled", "reason", scope).increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable()) + 1);
+            throw new TooManyRequestsException(message, retryAfter);
+        }
+    }
+
+    private TooManyRequestsException rejected(String reason) {
+        meterRegistry.counter("auth.throttled", "reason", reason).increment();
+        return new TooManyRequestsException("Authentication is busy, retry shortly", 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sms.security;
+
+import com.sms.entity.RevokedToken;
+import com.sms.repository.RevokedTokenRepository;
+import com.sms.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revoked token ids. The Bloom filter answers the common "not revoked" case without touching the
+ * exact map; the map and the {@code revoked_tokens} table hold each jti until its {@code exp},
+ * after which {@link #refresh()} drops it and rebuilds the filter.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository;
+    private final int expectedRevocations;
+    private volatile Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenDenylist(RevokedTokenRepository repository,
+                         @Value("${jwt.revocation.expectedRevocations:100000}") int expectedRevocations) {
+        this.repository = repository;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    public synchronized void revoke(String jti, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now()) || revoked.containsKey(jti)) {
+            return;
+        }
+        repository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).build());
+        revoked.put(jti, expiresAt);
+        filter.put(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refreshMs:60000}",
+            initialDelayString = "${jwt.revocation.refreshMs:60000}")
+    public synchronized void refresh() {
+        Instant now = Instant.now();
+        repository.deleteExpired(now);
+        Map<String, Instant> current = new ConcurrentHashMap<>();
+        repository.findByExpiresAtAfter(now).forEach(token -> current.put(token.getJti(), token.getExpiresAt()));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, current.size() * 2), FALSE_POSITIVE_RATE);
+        current.keySet().forEach(rebuilt::put);
+        revoked = current;
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.sms.security;
+
+import java.time.Instant;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public record VerifiedToken(UserDetails principal, String jti, Instant expiresAt) {
+}
@@ -0,0 +1,92 @@
+package com.sms.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tokens that already passed signature and expiry checks, keyed by a SHA-256 of the raw token
+ * so the cache never holds usable credentials. Entries live until the earlier of the token's
+ * {@code exp} and {@code jwt.cache.maxTtlMs}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+    private final Duration maxTtl;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.maxSize:10000}") long maxSize,
+                              @Value("${jwt.cache.maxTtlMs:300000}") long maxTtlMs,
+                              MeterRegistry meterRegistry) {
+        this.maxTtl = Duration.ofMillis(maxTtlMs);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return ttlNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public Optional<VerifiedToken> get(String token) {
+        String key = hash(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null && !verified.expiresAt().isAfter(Instant.now())) {
+            cache.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(verified);
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (verified.expiresAt().isAfter(Instant.now())) {
+            cache.put(hash(token), verified);
+        }
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(hash(token));
+    }
+
+    private long ttlNanos(VerifiedToken value) {
+        Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+        if (remaining.isNegative()) {
+            return 0;
+        }
+        return (remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl).toNanos();
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
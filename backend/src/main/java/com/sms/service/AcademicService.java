@@ -1,36 +1,91 @@
 package com.sms.service;
 
+import com.sms.config.ReplicaRead;
 import com.sms.dto.Dtos;
 import com.sms.entity.*;
+import com.sms.event.EnrollmentChangedEvent;
+import com.sms.event.EntityCountChangedEvent;
+import com.sms.event.StudentChangedEvent;
+import com.sms.exception.BadRequestException;
 import com.sms.exception.ResourceNotFoundException;
 import com.sms.repository.*;
+import com.sms.util.Cursors;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class AcademicService {
 
+    private static final int MAX_SCROLL_SIZE = 500;
+    private static final Pattern SEMESTER = Pattern.compile("\\d{4}-S[1-9]");
+
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
     private final DepartmentRepository departmentRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final StudentSearchIndex studentSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Dtos.PageResponse<Dtos.StudentResponse> listStudents(String search, int page, int size) {
-        var pageable = PageRequest.of(page, size);
-        var result = studentRepository
-                .findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(search, search, pageable);
-        List<Dtos.StudentResponse> content = result.getContent().stream().map(this::toStudentResponse).toList();
-        return new Dtos.PageResponse<>(content, result.getTotalElements(), result.getTotalPages(), page, size);
+        checkPage(page, size);
+        if (studentSearchIndex.isReady()) {
+            var hits = studentSearchIndex.search(search, (long) page * size, size);
+            List<Dtos.StudentResponse> content = inOrder(hits.ids(), studentRepository.findResponsesByIdIn(hits.ids()),
+                    Dtos.StudentResponse::id);
+            int totalPages = (int) Math.ceil((double) hits.total() / size);
+            return new Dtos.PageResponse<>(content, hits.total(), totalPages, page, size);
+        }
+        var result = studentRepository.findResponsesBySearch(search, PageRequest.of(page, size));
+        return new Dtos.PageResponse<>(result.getContent(), result.getTotalElements(), result.getTotalPages(), page, size);
+    }
+
+    public Dtos.SliceResponse<Dtos.StudentResponse> scrollStudents(String search, String after, int size) {
+        long afterId = Cursors.decodeId(after);
+        List<Student> rows;
+        if (search == null || search.isBlank()) {
+            rows = studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, scrollLimit(size));
+        } else if (studentSearchIndex.isReady()) {
+            rows = studentsInOrder(studentSearchIndex.searchAfter(search, afterId, scrollLimit(size).max()));
+        } else {
+            rows = studentRepository.scrollBySearch(afterId, search, scrollLimit(size));
+        }
+        return slice(rows, size, Student::getId, this::toStudentResponse);
     }
 
+    @Transactional
     public Dtos.StudentResponse createStudent(Dtos.StudentRequest request) {
         Department department = departmentRepository.findById(request.departmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found"));
-        Student student = Student.builder()
+        Student student = newStudent(request, department);
+        studentRepository.save(student);
+        eventPublisher.publishEvent(new EntityCountChangedEvent(EntityCountChangedEvent.Type.STUDENT, 1));
+        eventPublisher.publishEvent(studentChanged(student));
+        return toStudentResponse(student);
+    }
+
+    static StudentChangedEvent studentChanged(Student student) {
+        return StudentChangedEvent.saved(student.getId(), student.getFirstName(), student.getLastName(),
+                student.getRollNo(), student.getEmail());
+    }
+
+    Student newStudent(Dtos.StudentRequest request, Department department) {
+        return Student.builder()
                 .rollNo(request.rollNo())
                 .firstName(request.firstName())
                 .lastName(request.lastName())
@@ -44,10 +99,9 @@ public class AcademicService {
                 .profilePhotoUrl(request.profilePhotoUrl())
                 .status(request.status())
                 .build();
-        studentRepository.save(student);
-        return toStudentResponse(student);
     }
 
+    @Transactional
     public Dtos.StudentResponse updateStudent(Long id, Dtos.StudentRequest request) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
@@ -65,19 +119,61 @@ public class AcademicService {
         student.setEnrollDate(request.enrollDate());
         student.setProfilePhotoUrl(request.profilePhotoUrl());
         student.setStatus(request.status());
-        return toStudentResponse(studentRepository.save(student));
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(studentChanged(saved));
+        return toStudentResponse(saved);
     }
 
+    @Transactional
     public void deleteStudent(Long id) {
-        studentRepository.deleteById(id);
+        studentRepository.findById(id).ifPresent(student -> {
+            studentRepository.delete(student);
+            eventPublisher.publishEvent(new EntityCountChangedEvent(EntityCountChangedEvent.Type.STUDENT, -1));
+            eventPublisher.publishEvent(StudentChangedEvent.deleted(id));
+        });
     }
 
+    /**
+     * Pages over teacher ids first and then reads that page joined to its subjects, so a page costs
+     * the same three queries whatever its size. Joining the collection in the paged query itself
+     * would page over subject rows rather than teachers.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Dtos.PageResponse<Dtos.TeacherResponse> listTeachers(int page, int size) {
-        var result = teacherRepository.findAll(PageRequest.of(page, size));
-        var content = result.getContent().stream().map(this::toTeacherResponse).toList();
-        return new Dtos.PageResponse<>(content, result.getTotalElements(), result.getTotalPages(), page, size);
+        checkPage(page, size);
+        var ids = teacherRepository.findIds(PageRequest.of(page, size));
+        return new Dtos.PageResponse<>(teacherResponses(ids.getContent()), ids.getTotalElements(), ids.getTotalPages(),
+                page, size);
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Dtos.SliceResponse<Dtos.TeacherResponse> scrollTeachers(String after, int size) {
+        var ids = teacherRepository.findIdsAfter(Cursors.decodeId(after), scrollLimit(size));
+        return slice(teacherResponses(ids), size, Dtos.TeacherResponse::id, Function.identity());
+    }
+
+    private List<Dtos.TeacherResponse> teacherResponses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Dtos.TeacherResponse> responses = new ArrayList<>(ids.size());
+        for (Object[] row : teacherRepository.findResponseRows(ids)) {
+            Dtos.TeacherResponse last = responses.isEmpty() ? null : responses.get(responses.size() - 1);
+            if (last == null || !last.id().equals(row[0])) {
+                last = new Dtos.TeacherResponse((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                        (String) row[4], (Long) row[5], new ArrayList<>());
+                responses.add(last);
+            }
+            if (row[6] != null) {
+                last.subjects().add((String) row[6]);
+            }
+        }
+        return responses;
     }
 
+    @Transactional
     public Dtos.TeacherResponse createTeacher(Dtos.TeacherRequest request) {
         Department dept = departmentRepository.findById(request.departmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found"));
@@ -90,15 +186,25 @@ public class AcademicService {
                 .subjects(request.subjects())
                 .build();
         teacherRepository.save(teacher);
+        eventPublisher.publishEvent(new EntityCountChangedEvent(EntityCountChangedEvent.Type.TEACHER, 1));
         return toTeacherResponse(teacher);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public Dtos.PageResponse<Dtos.CourseResponse> listCourses(String title, int page, int size) {
-        var result = courseRepository.findByTitleContainingIgnoreCase(title, PageRequest.of(page, size));
-        var content = result.getContent().stream().map(this::toCourseResponse).toList();
-        return new Dtos.PageResponse<>(content, result.getTotalElements(), result.getTotalPages(), page, size);
+        checkPage(page, size);
+        var result = courseRepository.findResponsesByTitle(title, PageRequest.of(page, size));
+        return new Dtos.PageResponse<>(result.getContent(), result.getTotalElements(), result.getTotalPages(), page, size);
     }
 
+    public Dtos.SliceResponse<Dtos.CourseResponse> scrollCourses(String title, String after, int size) {
+        var rows = courseRepository.findByIdGreaterThanAndTitleContainingIgnoreCaseOrderByIdAsc(
+                Cursors.decodeId(after), title, scrollLimit(size));
+        return slice(rows, size, Course::getId, this::toCourseResponse);
+    }
+
+    @Transactional
     public Dtos.CourseResponse createCourse(Dtos.CourseRequest request) {
         Department dept = departmentRepository.findById(request.departmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found"));
@@ -116,6 +222,7 @@ public class AcademicService {
                 .teacher(teacher)
                 .build();
         courseRepository.save(course);
+        eventPublisher.publishEvent(new EntityCountChangedEvent(EntityCountChangedEvent.Type.COURSE, 1));
         return toCourseResponse(course);
     }
 
@@ -135,19 +242,66 @@ public class AcademicService {
         return new Dtos.DepartmentResponse(dept.getId(), dept.getCode(), dept.getName(), dept.getDescription());
     }
 
+    @Transactional
     public Dtos.EnrollmentResponse enrollStudent(Dtos.EnrollmentRequest request) {
         Student student = studentRepository.findById(request.studentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
         Course course = courseRepository.findById(request.courseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        String semester = semester(request.semester());
         Enrollment enrollment = Enrollment.builder()
-                .id(new EnrollmentId(student.getId(), course.getId(), request.semester()))
+                .id(new EnrollmentId(student.getId(), course.getId(), semester))
                 .student(student)
                 .course(course)
                 .status(request.status())
                 .build();
         enrollmentRepository.save(enrollment);
-        return new Dtos.EnrollmentResponse(student.getId(), course.getId(), request.semester(), request.status());
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(student.getId(), course.getId()));
+        return new Dtos.EnrollmentResponse(student.getId(), course.getId(), semester, request.status());
+    }
+
+    /**
+     * Normalises a semester label to {@code YYYY-Sn}. Transcripts order semesters by comparing
+     * labels as strings, which is only chronological in this format, so anything else is refused.
+     */
+    private static String semester(String label) {
+        String semester = label == null ? "" : label.trim().toUpperCase(Locale.ROOT);
+        if (!SEMESTER.matcher(semester).matches()) {
+            throw new BadRequestException("semester must look like 2024-S1");
+        }
+        return semester;
+    }
+
+    private List<Student> studentsInOrder(List<Long> ids) {
+        return inOrder(ids, studentRepository.findAllById(ids), Student::getId);
+    }
+
+    private static <T> List<T> inOrder(List<Long> ids, List<T> rows, Function<T, Long> key) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(key, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static void checkPage(int page, int size) {
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        if (size < 1) {
+            throw new BadRequestException("size must be positive");
+        }
+    }
+
+    private static Limit scrollLimit(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    private static <E, R> Dtos.SliceResponse<R> slice(List<E> rows, int size, Function<E, Long> key, Function<E, R> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        String next = hasMore ? Cursors.encode(key.apply(page.get(page.size() - 1))) : null;
+        return new Dtos.SliceResponse<>(page.stream().map(mapper).toList(), next, size);
     }
 
     private Dtos.StudentResponse toStudentResponse(Student s) {
@@ -0,0 +1,236 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.AttendanceStatus;
+import com.sms.event.AttendanceRecordedEvent;
+import com.sms.exception.BadRequestException;
+import com.sms.repository.AttendanceRepository;
+import com.sms.util.AttendanceBitmapFile;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Attendance statistics for the current semester from an {@link AttendanceBitmapFile}. The file
+ * is reused across restarts and rebuilt from the database when it is missing, belongs to another
+ * semester, and nightly with the dashboard reconciliation. While it is unavailable (loading, or
+ * held by another process) statistics are computed from the attendance rows instead.
+ *
+ * <p>EXCUSED days count as neither present nor absent, so the percentage here is over the other
+ * recorded days. The dashboard's average attendance differs: it divides by every attendance row,
+ * EXCUSED included.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceBitmapIndex {
+
+    @Value("${attendance.bitmap.path:./data/attendance.bitmap}")
+    private String path;
+
+    @Value("${attendance.bitmap.semesterStart:}")
+    private String semesterStart;
+
+    @Value("${attendance.bitmap.semesterDays:184}")
+    private int semesterDays;
+
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object writeLock = new Object();
+    private volatile AttendanceBitmapFile file;
+    private List<AttendanceRecordedEvent.Change> writtenDuringLoad = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        startLoader(false);
+    }
+
+    /**
+     * Runs on its own thread rather than the scheduler's, which the other nightly jobs share.
+     */
+    @Scheduled(cron = "${dashboard.reconcileCron:0 30 3 * * *}")
+    public void rebuild() {
+        startLoader(true);
+    }
+
+    private void startLoader(boolean rebuild) {
+        Thread loader = new Thread(() -> load(rebuild), "attendance-bitmap");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Opens the file when it is current, else builds a new one. A new file is populated under a
+     * private name and only then moved into place and published, so statistics never read a
+     * partly populated file; until then the previous file, if any, keeps serving. Writes that
+     * commit meanwhile, or since startup for the first load, are recorded and replayed onto the
+     * file before it is published.
+     */
+    synchronized void load(boolean rebuild) {
+        try {
+            LocalDate start = semesterStart();
+            Path location = Path.of(path);
+            long started = System.currentTimeMillis();
+            AttendanceBitmapFile opened;
+            if (rebuild) {
+                opened = build(location, start);
+            } else {
+                opened = AttendanceBitmapFile.open(location, start, semesterDays);
+                if (opened.created()) {
+                    close(opened);
+                    opened = build(location, start);
+                } else {
+                    publish(opened);
+                }
+            }
+            log.info("Attendance bitmap for semester starting {} ready with {} pairs in {} ms", start,
+                    opened.pairs(), System.currentTimeMillis() - started);
+        } catch (IOException | RuntimeException ex) {
+            synchronized (writeLock) {
+                writtenDuringLoad = null;
+            }
+            log.warn("Attendance bitmap unavailable, statistics stay on {}", file != null ? "the previous file" : "SQL", ex);
+        }
+    }
+
+    private AttendanceBitmapFile build(Path location, LocalDate start) throws IOException {
+        synchronized (writeLock) {
+            writtenDuringLoad = new ArrayList<>();
+        }
+        Path building = location.resolveSibling(location.getFileName() + ".building");
+        Files.deleteIfExists(building);
+        try (AttendanceBitmapFile fresh = AttendanceBitmapFile.open(building, start, semesterDays)) {
+            populate(fresh, start, start.plusDays(semesterDays - 1L));
+        }
+        Files.move(building, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        AttendanceBitmapFile opened = AttendanceBitmapFile.open(location, start, semesterDays);
+        publish(opened);
+        return opened;
+    }
+
+    private void publish(AttendanceBitmapFile opened) {
+        AttendanceBitmapFile previous;
+        synchronized (writeLock) {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.forEach(change -> opened.set(change.studentId(), change.courseId(), change.date(),
+                        change.current()));
+                writtenDuringLoad = null;
+            }
+            previous = file;
+            file = opened;
+        }
+        close(previous);
+    }
+
+    @PreDestroy
+    void close() {
+        AttendanceBitmapFile previous;
+        synchronized (writeLock) {
+            previous = file;
+            file = null;
+        }
+        close(previous);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        synchronized (writeLock) {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.addAll(event.changes());
+            }
+            AttendanceBitmapFile current = file;
+            if (current != null) {
+                for (AttendanceRecordedEvent.Change change : event.changes()) {
+                    current.set(change.studentId(), change.courseId(), change.date(), change.current());
+                }
+            }
+        }
+    }
+
+    public Dtos.AttendanceSummary summary(Long studentId, Long courseId, LocalDate from, LocalDate to) {
+        LocalDate start = semesterStart();
+        LocalDate first = from == null ? start : from;
+        LocalDate last = to == null ? LocalDate.now() : to;
+        if (first.isAfter(last)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        AttendanceBitmapFile current = file;
+        AttendanceBitmapFile.Stats stats = current != null && current.covers(first) && current.covers(last)
+                ? current.stats(studentId, courseId, first, last)
+                : statsFromRows(studentId, courseId, first, last);
+        double percentage = stats.recorded() == 0 ? 0 : Math.round(stats.present() * 1000.0 / stats.recorded()) / 10.0;
+        return new Dtos.AttendanceSummary(studentId, courseId, first, last, stats.present(), stats.absent(),
+                stats.late(), percentage, stats.currentStreak(), stats.longestStreak());
+    }
+
+    private AttendanceBitmapFile.Stats statsFromRows(Long studentId, Long courseId, LocalDate from, LocalDate to) {
+        int present = 0;
+        int absent = 0;
+        int late = 0;
+        int run = 0;
+        int longest = 0;
+        for (AttendanceStatus status : attendanceRepository.findTimeline(studentId, courseId, from, to)) {
+            switch (status) {
+                case PRESENT -> {
+                    present++;
+                    run++;
+                }
+                case ABSENT, LATE -> {
+                    if (status == AttendanceStatus.ABSENT) {
+                        absent++;
+                    } else {
+                        late++;
+                    }
+                    longest = Math.max(longest, run);
+                    run = 0;
+                }
+                case EXCUSED -> {
+                }
+            }
+        }
+        return new AttendanceBitmapFile.Stats(present, absent, late, run, Math.max(longest, run));
+    }
+
+    private void populate(AttendanceBitmapFile target, LocalDate from, LocalDate to) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Dtos.AttendanceResponse> rows = attendanceRepository.streamForExport(null, null, from, to)) {
+                rows.forEach(row -> target.set(row.studentId(), row.courseId(), row.date(), row.status()));
+            }
+        });
+    }
+
+    private LocalDate semesterStart() {
+        if (semesterStart != null && !semesterStart.isBlank()) {
+            return LocalDate.parse(semesterStart);
+        }
+        LocalDate today = LocalDate.now();
+        return LocalDate.of(today.getYear(), today.getMonthValue() <= 6 ? Month.JANUARY : Month.JULY, 1);
+    }
+
+    private static void close(AttendanceBitmapFile bitmap) {
+        if (bitmap != null) {
+            try {
+                bitmap.close();
+            } catch (IOException ex) {
+                log.warn("Could not close attendance bitmap", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.sms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sms.config.ReplicaRead;
+import com.sms.dto.Dtos;
+import com.sms.exception.BadRequestException;
+import com.sms.repository.AttendanceRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes attendance straight from a database cursor to the response. Rows are read as responses,
+ * not entities, so memory stays flat however many rows match.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unsupported format " + value);
+            }
+        }
+    }
+
+    private final AttendanceRepository attendanceRepository;
+    private final ObjectMapper objectMapper;
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public long export(Format format, Long courseId, Long studentId, LocalDate from, LocalDate to,
+                       OutputStream out) throws IOException {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write("studentId,courseId,date,status\n");
+        }
+        long rows = 0;
+        try (Stream<Dtos.AttendanceResponse> stream = attendanceRepository.streamForExport(courseId, studentId, from, to)) {
+            Iterator<Dtos.AttendanceResponse> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                write(writer, format, iterator.next());
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void write(Writer writer, Format format, Dtos.AttendanceResponse attendance) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(attendance.studentId() + "," + attendance.courseId() + ","
+                    + attendance.date() + "," + attendance.status() + "\n");
+        } else {
+            writer.write(objectMapper.writeValueAsString(attendance));
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.sms.service;
+
+import com.sms.config.ReplicaRead;
+import com.sms.dto.Dtos;
+import com.sms.entity.AttendanceStatus;
+import com.sms.entity.RollupScope;
+import com.sms.event.AttendanceRecordedEvent;
+import com.sms.exception.BadRequestException;
+import com.sms.repository.AttendanceRollupRepository;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.JdbcUpserts;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Daily attendance rollups per student, course and department. Each row holds one day's counts,
+ * and changes are added to the day they belong to in the writing transaction, touching only that
+ * row. A rate sums the rows in its range, so it costs one key-range read of up to one row per day
+ * in the range rather than a constant two-row lookup: keeping running totals instead would make a
+ * correction to an early day rewrite every later day of the scope inside the writer's
+ * transaction, and a semester is a few hundred rows at most. {@link #reconcile()} rebuilds the
+ * table at startup and nightly, which also picks up courses that moved department.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttendanceRollups {
+
+    private record Key(RollupScope scope, long scopeId, LocalDate date) {}
+
+    private static final String[] KEY_COLUMNS = {"scope", "scope_id", "date"};
+    private static final String[] VALUE_COLUMNS = {"present", "absent", "late"};
+    private static final String DAILY_COUNTS = "SUM(CASE WHEN a.status = 'PRESENT' THEN 1 ELSE 0 END) AS present, " +
+            "SUM(CASE WHEN a.status = 'ABSENT' THEN 1 ELSE 0 END) AS absent, " +
+            "SUM(CASE WHEN a.status = 'LATE' THEN 1 ELSE 0 END) AS late";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcUpserts upserts;
+    private final CourseRepository courseRepository;
+    private final AttendanceRollupRepository rollupRepository;
+
+    @EventListener
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        Set<Long> courseIds = event.changes().stream().map(AttendanceRecordedEvent.Change::courseId)
+                .collect(Collectors.toSet());
+        Map<Long, Long> departments = new HashMap<>();
+        for (Object[] row : courseRepository.findDepartmentIds(courseIds)) {
+            departments.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Key, long[]> deltas = new LinkedHashMap<>();
+        for (AttendanceRecordedEvent.Change change : event.changes()) {
+            long[] delta = new long[3];
+            count(delta, change.previous(), -1);
+            count(delta, change.current(), 1);
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                continue;
+            }
+            add(deltas, new Key(RollupScope.STUDENT, change.studentId(), change.date()), delta);
+            add(deltas, new Key(RollupScope.COURSE, change.courseId(), change.date()), delta);
+            Long departmentId = departments.get(change.courseId());
+            if (departmentId != null) {
+                add(deltas, new Key(RollupScope.DEPARTMENT, departmentId, change.date()), delta);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            apply(deltas);
+        }
+    }
+
+    /** Drops the table of running totals this class kept before it stored daily counts only. */
+    @PostConstruct
+    void dropRunningTotals() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS attendance_rollup");
+    }
+
+    /**
+     * Recomputes every day's counts from the attendance table, overwriting the rows in place and
+     * removing days that no longer have attendance. The table is locked against writers first, so
+     * an attendance write either commits before the recount or waits and is added on top of it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${dashboard.reconcileCron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        jdbcTemplate.execute(upserts.lockAgainstWriters("attendance_daily_rollup"));
+        int rows = jdbcTemplate.update(upserts.upsertSelect("attendance_daily_rollup", KEY_COLUMNS, VALUE_COLUMNS,
+                "SELECT 'STUDENT', a.student_id, a.date, " + DAILY_COUNTS +
+                        " FROM attendance a GROUP BY a.student_id, a.date " +
+                        "UNION ALL SELECT 'COURSE', a.course_id, a.date, " + DAILY_COUNTS +
+                        " FROM attendance a GROUP BY a.course_id, a.date " +
+                        "UNION ALL SELECT 'DEPARTMENT', c.department_id, a.date, " + DAILY_COUNTS +
+                        " FROM attendance a JOIN course c ON c.id = a.course_id WHERE c.department_id IS NOT NULL " +
+                        "GROUP BY c.department_id, a.date"));
+        int removed = jdbcTemplate.update("DELETE FROM attendance_daily_rollup r WHERE r.scope = 'STUDENT' AND NOT EXISTS " +
+                "(SELECT 1 FROM attendance a WHERE a.student_id = r.scope_id AND a.date = r.date)");
+        removed += jdbcTemplate.update("DELETE FROM attendance_daily_rollup r WHERE r.scope = 'COURSE' AND NOT EXISTS " +
+                "(SELECT 1 FROM attendance a WHERE a.course_id = r.scope_id AND a.date = r.date)");
+        removed += jdbcTemplate.update("DELETE FROM attendance_daily_rollup r WHERE r.scope = 'DEPARTMENT' AND NOT EXISTS " +
+                "(SELECT 1 FROM attendance a JOIN course c ON c.id = a.course_id " +
+                "WHERE c.department_id = r.scope_id AND a.date = r.date)");
+        log.info("Attendance rollups rebuilt with {} rows, {} stale removed, in {} ms", rows, removed,
+                System.currentTimeMillis() - started);
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Dtos.AttendanceRate rate(Long studentId, Long courseId, Long departmentId, LocalDate from, LocalDate to) {
+        RollupScope scope = null;
+        Long scopeId = null;
+        int given = 0;
+        if (studentId != null) {
+            scope = RollupScope.STUDENT;
+            scopeId = studentId;
+            given++;
+        }
+        if (courseId != null) {
+            scope = RollupScope.COURSE;
+            scopeId = courseId;
+            given++;
+        }
+        if (departmentId != null) {
+            scope = RollupScope.DEPARTMENT;
+            scopeId = departmentId;
+            given++;
+        }
+        if (given != 1) {
+            throw new BadRequestException("Exactly one of studentId, courseId and departmentId is required");
+        }
+        LocalDate last = to == null ? LocalDate.now() : to;
+        if (from != null && from.isAfter(last)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        Object[] counts = (from == null
+                ? rollupRepository.sumUpTo(scope, scopeId, last)
+                : rollupRepository.sumBetween(scope, scopeId, from, last)).get(0);
+        long present = ((Number) counts[0]).longValue();
+        long absent = ((Number) counts[1]).longValue();
+        long late = ((Number) counts[2]).longValue();
+        long total = present + absent + late;
+        double percentage = total == 0 ? 0 : Math.round(present * 1000.0 / total) / 10.0;
+        return new Dtos.AttendanceRate(scope.name(), scopeId, from, last, present, absent, late, percentage);
+    }
+
+    private void apply(Map<Key, long[]> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> rows.add(new Object[]{key.scope().name(), key.scopeId(), key.date(),
+                delta[0], delta[1], delta[2]}));
+        jdbcTemplate.batchUpdate(upserts.increment("attendance_daily_rollup", KEY_COLUMNS, "present", "absent", "late"),
+                rows);
+    }
+
+    private static void add(Map<Key, long[]> deltas, Key key, long[] delta) {
+        long[] total = deltas.computeIfAbsent(key, k -> new long[3]);
+        for (int i = 0; i < 3; i++) {
+            total[i] += delta[i];
+        }
+    }
+
+    private static void count(long[] delta, AttendanceStatus status, int sign) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case PRESENT -> delta[0] += sign;
+            case ABSENT -> delta[1] += sign;
+            case LATE -> delta[2] += sign;
+            case EXCUSED -> {
+            }
+        }
+    }
+}
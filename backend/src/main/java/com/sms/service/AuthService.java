@@ -5,10 +5,12 @@ import com.sms.entity.AppUser;
 import com.sms.exception.BadRequestException;
 import com.sms.repository.AppUserRepository;
 import com.sms.security.JwtService;
+import com.sms.security.LoginGate;
 import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,15 +22,18 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final LoginGate loginGate;
 
-    public Dtos.AuthResponse register(Dtos.RegisterRequest request) {
+    public Dtos.AuthResponse register(Dtos.RegisterRequest request, String clientIp) {
         if (userRepository.existsByEmail(request.email())) {
             throw new BadRequestException("Email already registered");
         }
+        String passwordHash = loginGate.execute(request.email(), clientIp,
+                () -> passwordEncoder.encode(request.password()));
         AppUser user = AppUser.builder()
                 .fullName(request.fullName())
                 .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHash)
                 .role(request.role())
                 .build();
         userRepository.save(user);
@@ -36,11 +41,19 @@ public class AuthService {
         return new Dtos.AuthResponse(token, user.getRole().name(), Instant.now().plusMillis(86400000));
     }
 
-    public Dtos.AuthResponse login(Dtos.AuthRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.email(), request.password()));
-        AppUser user = userRepository.findByEmail(request.email()).orElseThrow();
+    public Dtos.AuthResponse login(Dtos.AuthRequest request, String clientIp) {
+        Authentication authentication = loginGate.execute(request.email(), clientIp,
+                () -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.email(), request.password())));
+        AppUser user = (AppUser) authentication.getPrincipal();
         String token = jwtService.generateToken(user);
         return new Dtos.AuthResponse(token, user.getRole().name(), Instant.now().plusMillis(86400000));
     }
+
+    public void logout(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")
+                || !jwtService.revoke(authorization.substring(7))) {
+            throw new BadRequestException("Invalid token");
+        }
+    }
 }
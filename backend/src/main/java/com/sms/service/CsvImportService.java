@@ -1,33 +1,145 @@
 package com.sms.service;
 
 import com.sms.dto.Dtos;
+import com.sms.entity.Student;
+import com.sms.event.EntityCountChangedEvent;
+import com.sms.repository.DepartmentRepository;
+import com.sms.repository.StudentRepository;
 import com.sms.util.CsvStudentParser;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 @RequiredArgsConstructor
 public class CsvImportService {
 
+    private static final int LOOKUP_BATCH = 1000;
+
     private final CsvStudentParser parser;
     private final AcademicService academicService;
+    private final StudentRepository studentRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${import.chunkSize:500}")
+    private int chunkSize;
 
     public Dtos.CsvImportResponse importStudents(MultipartFile file) throws IOException {
-        var rows = parser.parse(file);
-        int success = 0;
-        var errors = new java.util.ArrayList<Dtos.CsvRowError>();
-        int rowIndex = 1;
-        for (Dtos.StudentRequest request : rows) {
-            try {
-                academicService.createStudent(request);
-                success++;
-            } catch (Exception ex) {
-                errors.add(new Dtos.CsvRowError(rowIndex, ex.getMessage()));
+        ImportJob job = new ImportJob(file.getSize(), Integer.MAX_VALUE);
+        try (InputStream in = file.getInputStream()) {
+            importStudents(in, job);
+        }
+        return job.toImportResponse();
+    }
+
+    /**
+     * Streams the CSV through the parser and writes it chunk by chunk. Memory is bounded by the
+     * chunk size plus the set of roll numbers seen so far, which in-file duplicate detection needs.
+     */
+    public void importStudents(InputStream in, ImportJob job) throws IOException {
+        Set<String> seen = new HashSet<>();
+        List<CsvStudentParser.Row> pending = new ArrayList<>(chunkSize);
+        parser.stream(new InputStreamReader(new CountingInputStream(in, job), StandardCharsets.UTF_8), row -> {
+            job.rowRead();
+            if (!row.valid()) {
+                job.rowFailed(row.row(), row.error());
+            } else if (!seen.add(row.request().rollNo())) {
+                job.rowFailed(row.row(), "Duplicate rollNo " + row.request().rollNo() + " in file");
+            } else {
+                pending.add(row);
+                if (pending.size() == chunkSize) {
+                    writeChunk(pending, job);
+                    pending.clear();
+                }
+            }
+        });
+        if (!pending.isEmpty()) {
+            writeChunk(pending, job);
+        }
+    }
+
+    private void writeChunk(List<CsvStudentParser.Row> chunk, ImportJob job) {
+        Set<String> existing = new HashSet<>();
+        List<String> rollNos = chunk.stream().map(row -> row.request().rollNo()).toList();
+        for (int i = 0; i < rollNos.size(); i += LOOKUP_BATCH) {
+            existing.addAll(studentRepository.findExistingRollNos(rollNos.subList(i, Math.min(i + LOOKUP_BATCH, rollNos.size()))));
+        }
+        List<CsvStudentParser.Row> fresh = new ArrayList<>(chunk.size());
+        for (CsvStudentParser.Row row : chunk) {
+            if (existing.contains(row.request().rollNo())) {
+                job.rowFailed(row.row(), "rollNo " + row.request().rollNo() + " already exists");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        try {
+            persist(fresh);
+            job.rowsSucceeded(fresh.size());
+        } catch (RuntimeException chunkFailure) {
+            for (CsvStudentParser.Row row : fresh) {
+                try {
+                    persist(List.of(row));
+                    job.rowsSucceeded(1);
+                } catch (RuntimeException ex) {
+                    job.rowFailed(row.row(), NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+    }
+
+    private void persist(List<CsvStudentParser.Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Student> students = studentRepository.saveAll(rows.stream()
+                    .map(row -> academicService.newStudent(row.request(),
+                            departmentRepository.getReferenceById(row.request().departmentId())))
+                    .toList());
+            eventPublisher.publishEvent(new EntityCountChangedEvent(EntityCountChangedEvent.Type.STUDENT, students.size()));
+            students.forEach(student -> eventPublisher.publishEvent(AcademicService.studentChanged(student)));
+        });
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final ImportJob job;
+
+        CountingInputStream(InputStream in, ImportJob job) {
+            super(in);
+            this.job = job;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                job.bytesRead(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                job.bytesRead(n);
             }
-            rowIndex++;
+            return n;
         }
-        return new Dtos.CsvImportResponse(rows.size(), success, rows.size() - success, errors);
     }
 }
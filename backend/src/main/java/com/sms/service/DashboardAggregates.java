@@ -0,0 +1,159 @@
+package com.sms.service;
+
+import com.sms.entity.AttendanceStatus;
+import com.sms.event.AttendanceRecordedEvent;
+import com.sms.event.EntityCountChangedEvent;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.repository.JdbcUpserts;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the dashboard's counters and per-student mark sums up to date. The write paths publish
+ * events inside their transactions and the deltas are applied in that same transaction, so the
+ * aggregates commit or roll back with the data. Each counter is striped over
+ * {@code dashboard.counterShards} rows and a write adds to a random one, so concurrent writers
+ * rarely wait on each other's row lock; readers sum the stripes. {@link #reconcile()} recomputes everything from
+ * the base tables at startup, ahead of other startup listeners that read the aggregates, and on a
+ * schedule to repair drift from writes that bypass the events. It locks the aggregate tables
+ * against writers first, so an increment either commits before the recount and is counted by it,
+ * or waits and is added on top of it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardAggregates {
+
+    static final String STUDENTS = "students";
+    static final String TEACHERS = "teachers";
+    static final String COURSES = "courses";
+    static final String ATTENDANCE_PRESENT = "attendance.present";
+    static final String ATTENDANCE_TOTAL = "attendance.total";
+
+    private static final List<String> COUNTERS = List.of(STUDENTS, TEACHERS, COURSES, ATTENDANCE_PRESENT, ATTENDANCE_TOTAL);
+    private static final String[] COUNTER_KEY = {"name", "shard"};
+    private static final String[] COUNTER_VALUE = {"total"};
+    private static final String[] SUMMARY_KEY = {"student_id"};
+
+    @Value("${dashboard.counterShards:16}")
+    private int counterShards;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcUpserts upserts;
+
+    @EventListener
+    public void onCountChanged(EntityCountChangedEvent event) {
+        String name = switch (event.type()) {
+            case STUDENT -> STUDENTS;
+            case TEACHER -> TEACHERS;
+            case COURSE -> COURSES;
+        };
+        addToCounters(Map.of(name, event.delta()));
+    }
+
+    @EventListener
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        long present = 0;
+        long total = 0;
+        for (AttendanceRecordedEvent.Change change : event.changes()) {
+            if (change.previous() == null) {
+                total++;
+            } else if (change.previous() == AttendanceStatus.PRESENT) {
+                present--;
+            }
+            if (change.current() == AttendanceStatus.PRESENT) {
+                present++;
+            }
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        if (present != 0) {
+            deltas.put(ATTENDANCE_PRESENT, present);
+        }
+        if (total != 0) {
+            deltas.put(ATTENDANCE_TOTAL, total);
+        }
+        addToCounters(deltas);
+    }
+
+    @EventListener
+    public void onMarksRecorded(MarksRecordedEvent event) {
+        Map<Long, double[]> deltas = new LinkedHashMap<>();
+        for (MarksRecordedEvent.Change change : event.changes()) {
+            double[] delta = deltas.computeIfAbsent(change.studentId(), id -> new double[2]);
+            delta[0] += ratio(change.obtained(), change.max());
+            if (change.created()) {
+                delta[1]++;
+            } else {
+                delta[0] -= ratio(change.previousObtained(), change.previousMax());
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((studentId, delta) -> rows.add(new Object[]{studentId, delta[0], (long) delta[1]}));
+        jdbcTemplate.batchUpdate(upserts.increment("student_mark_summary", SUMMARY_KEY, "score_sum", "mark_count"), rows);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Scheduled(cron = "${dashboard.reconcileCron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        long started = System.currentTimeMillis();
+        List<Object[]> stripes = new ArrayList<>();
+        for (String name : COUNTERS) {
+            for (int shard = 0; shard < counterShards; shard++) {
+                stripes.add(new Object[]{name, shard, 0L});
+            }
+        }
+        upserts.insertAbsent(jdbcTemplate, "dashboard_counter_shard", COUNTER_KEY, COUNTER_VALUE, stripes);
+        jdbcTemplate.execute(upserts.lockAgainstWriters("dashboard_counter_shard"));
+        jdbcTemplate.execute(upserts.lockAgainstWriters("student_mark_summary"));
+        List<Object[]> counters = List.of(
+                new Object[]{STUDENTS, 0, count("SELECT COUNT(*) FROM student")},
+                new Object[]{TEACHERS, 0, count("SELECT COUNT(*) FROM teacher")},
+                new Object[]{COURSES, 0, count("SELECT COUNT(*) FROM course")},
+                new Object[]{ATTENDANCE_PRESENT, 0, count("SELECT COUNT(*) FROM attendance WHERE status = 'PRESENT'")},
+                new Object[]{ATTENDANCE_TOTAL, 0, count("SELECT COUNT(*) FROM attendance")});
+        jdbcTemplate.batchUpdate(upserts.upsert("dashboard_counter_shard", COUNTER_KEY, "total"), counters);
+        jdbcTemplate.update("UPDATE dashboard_counter_shard SET total = 0 WHERE shard <> 0 AND total <> 0");
+        jdbcTemplate.update(upserts.upsertSelect("student_mark_summary", SUMMARY_KEY, new String[]{"score_sum", "mark_count"},
+                "SELECT student_id, SUM(CAST(marks_obtained AS DOUBLE PRECISION) / CAST(max_marks AS DOUBLE PRECISION)), COUNT(*) " +
+                        "FROM mark GROUP BY student_id"));
+        jdbcTemplate.update("DELETE FROM student_mark_summary s WHERE NOT EXISTS " +
+                "(SELECT 1 FROM mark m WHERE m.student_id = s.student_id)");
+        log.info("Dashboard aggregates reconciled in {} ms", System.currentTimeMillis() - started);
+    }
+
+    private void addToCounters(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int shard = ThreadLocalRandom.current().nextInt(counterShards);
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((name, delta) -> rows.add(new Object[]{name, shard, delta}));
+        jdbcTemplate.batchUpdate(upserts.increment("dashboard_counter_shard", COUNTER_KEY, "total"), rows);
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static double ratio(BigDecimal obtained, BigDecimal max) {
+        return obtained.doubleValue() / max.doubleValue();
+    }
+}
@@ -0,0 +1,89 @@
+package com.sms.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sms.dto.Dtos;
+import com.sms.event.AttendanceRecordedEvent;
+import com.sms.event.EntityCountChangedEvent;
+import com.sms.event.MarksRecordedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Caches the admin dashboard. Concurrent misses share one computation; once an entry is older
+ * than {@code dashboard.cache.refreshAfterMs} it is still served while a single background
+ * reload runs, and it is never served past {@code dashboard.cache.maxStaleMs}. Committed writes
+ * that change the figures trigger the same background reload.
+ */
+@Component
+public class DashboardCache {
+
+    private static final String KEY = "metrics";
+
+    private final ExecutorService refresher;
+    private final AsyncLoadingCache<String, Dtos.DashboardMetrics> cache;
+
+    public DashboardCache(DashboardService dashboardService,
+                          @Value("${dashboard.cache.refreshAfterMs:5000}") long refreshAfterMs,
+                          @Value("${dashboard.cache.maxStaleMs:60000}") long maxStaleMs,
+                          MeterRegistry meterRegistry) {
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(Duration.ofMillis(refreshAfterMs))
+                .expireAfterWrite(Duration.ofMillis(Math.max(refreshAfterMs, maxStaleMs)))
+                .executor(refresher)
+                .recordStats()
+                .buildAsync(key -> dashboardService.metrics());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public Dtos.DashboardMetrics metrics() {
+        try {
+            return cache.get(KEY).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountChanged(EntityCountChangedEvent event) {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceRecorded(AttendanceRecordedEvent event) {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarksRecorded(MarksRecordedEvent event) {
+        refresh();
+    }
+
+    void refresh() {
+        if (cache.getIfPresent(KEY) != null) {
+            cache.synchronous().refresh(KEY);
+        }
+    }
+}
@@ -2,42 +2,35 @@ package com.sms.service;
 
 import com.sms.dto.Dtos;
 import com.sms.entity.StudentStatus;
-import com.sms.repository.AttendanceRepository;
-import com.sms.repository.CourseRepository;
-import com.sms.repository.MarkRepository;
+import com.sms.repository.DashboardCounterRepository;
 import com.sms.repository.StudentRepository;
-import com.sms.repository.TeacherRepository;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final StudentRepository studentRepository;
-    private final TeacherRepository teacherRepository;
-    private final CourseRepository courseRepository;
-    private final AttendanceRepository attendanceRepository;
-    private final MarkRepository markRepository;
+    private final DashboardCounterRepository dashboardCounterRepository;
+    private final PerformanceLeaderboards performanceLeaderboards;
 
+    @Transactional(readOnly = true)
     public Dtos.DashboardMetrics metrics() {
-        long students = studentRepository.count();
-        long teachers = teacherRepository.count();
-        long courses = courseRepository.count();
-        Double avgAttendance = attendanceRepository.findAverageAttendance();
-        List<Dtos.TopPerformer> top = markRepository.findTopPerformers(Pageable.ofSize(5)).stream()
-                .map(row -> new Dtos.TopPerformer(
-                        (Long) row[0],
-                        row[1] + " " + row[2],
-                        ((Double) row[3]) * 100))
-                .toList();
+        Map<String, Long> counters = dashboardCounterRepository.sumByName().stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> ((Number) row[1]).longValue()));
+        long present = counters.getOrDefault(DashboardAggregates.ATTENDANCE_PRESENT, 0L);
+        long attendance = counters.getOrDefault(DashboardAggregates.ATTENDANCE_TOTAL, 0L);
+        List<Dtos.TopPerformer> top = performanceLeaderboards.topPerformers(null, null, 5);
         return new Dtos.DashboardMetrics(
-                students,
-                teachers,
-                courses,
-                avgAttendance == null ? 0 : Math.round(avgAttendance * 1000) / 10.0,
+                counters.getOrDefault(DashboardAggregates.STUDENTS, 0L),
+                counters.getOrDefault(DashboardAggregates.TEACHERS, 0L),
+                counters.getOrDefault(DashboardAggregates.COURSES, 0L),
+                attendance == 0 ? 0 : Math.round(present * 1000.0 / attendance) / 10.0,
                 top);
     }
 
@@ -4,6 +4,7 @@ import com.sms.entity.*;
 import com.sms.repository.*;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -12,6 +13,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Component
+@DependsOn("sequenceAligner")
 @RequiredArgsConstructor
 public class DataInitializer {
 
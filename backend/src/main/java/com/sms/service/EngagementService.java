@@ -1,52 +1,135 @@
 package com.sms.service;
 
+import com.sms.config.ReplicaRead;
 import com.sms.dto.Dtos;
 import com.sms.entity.*;
+import com.sms.event.AttendanceRecordedEvent;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.exception.BadRequestException;
 import com.sms.exception.ResourceNotFoundException;
+import com.sms.exception.RowValidationException;
 import com.sms.repository.*;
+import com.sms.util.Cursors;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class EngagementService {
 
+    private static final int MAX_LIST_ROWS = 1000;
+    private static final int MAX_SCROLL_SIZE = 500;
+
     private final AttendanceRepository attendanceRepository;
     private final MarkRepository markRepository;
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public Dtos.AttendanceResponse markAttendance(Dtos.AttendanceRequest request) {
         Student student = studentRepository.findById(request.studentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
         Course course = courseRepository.findById(request.courseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-        Attendance attendance = Attendance.builder()
-                .id(AttendanceId.builder()
-                        .studentId(student.getId())
-                        .courseId(course.getId())
-                        .date(request.date())
-                        .build())
-                .student(student)
-                .course(course)
-                .status(request.status())
-                .build();
-        attendanceRepository.save(attendance);
+        AttendanceStatus previous = attendanceRepository.upsertSession(course.getId(), request.date(),
+                Map.of(student.getId(), request.status())).get(student.getId());
+        eventPublisher.publishEvent(new AttendanceRecordedEvent(List.of(new AttendanceRecordedEvent.Change(
+                student.getId(), course.getId(), request.date(), previous, request.status()))));
         return new Dtos.AttendanceResponse(student.getId(), course.getId(), request.date(), request.status());
     }
 
+    /**
+     * Records a whole class session. Every entry is checked against the course roster in one
+     * query; if any entry is rejected nothing is written, otherwise all rows go out as batched
+     * upserts that also return the statuses they replaced.
+     */
+    @Transactional
+    public Dtos.AttendanceSessionResponse markSession(Dtos.AttendanceSessionRequest request) {
+        if (!courseRepository.existsById(request.courseId())) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        List<Dtos.AttendanceEntry> entries = request.entries();
+        Set<Long> enrolled = enrollmentRepository.findEnrolledStudentIds(request.courseId(),
+                entries.stream().map(Dtos.AttendanceEntry::studentId).distinct().toList());
+        Map<Long, AttendanceStatus> statuses = new LinkedHashMap<>();
+        List<Dtos.CsvRowError> errors = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Dtos.AttendanceEntry entry = entries.get(i);
+            if (!enrolled.contains(entry.studentId())) {
+                errors.add(new Dtos.CsvRowError(i + 1, "Student " + entry.studentId() + " is not enrolled in this course"));
+            } else if (statuses.putIfAbsent(entry.studentId(), entry.status()) != null) {
+                errors.add(new Dtos.CsvRowError(i + 1, "Duplicate entry for student " + entry.studentId()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new RowValidationException(errors);
+        }
+        Map<Long, AttendanceStatus> previous = attendanceRepository.upsertSession(request.courseId(), request.date(), statuses);
+        List<AttendanceRecordedEvent.Change> changes = new ArrayList<>(statuses.size());
+        statuses.forEach((studentId, status) -> changes.add(new AttendanceRecordedEvent.Change(
+                studentId, request.courseId(), request.date(), previous.get(studentId), status)));
+        eventPublisher.publishEvent(new AttendanceRecordedEvent(changes));
+        return new Dtos.AttendanceSessionResponse(request.courseId(), request.date(), statuses.size());
+    }
+
+    /**
+     * Attendance of one course, or of every course, as a single list. Refuses results larger than
+     * {@link #MAX_LIST_ROWS} rather than loading them; callers with more rows page through
+     * {@link #scrollAttendance}.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Dtos.AttendanceResponse> listAttendance(Long courseId) {
-        List<Attendance> source = courseId == null
-                ? attendanceRepository.findAll()
-                : attendanceRepository.findByIdCourseId(courseId);
-        return source.stream()
-                .map(a -> new Dtos.AttendanceResponse(a.getStudent().getId(), a.getCourse().getId(),
-                        a.getId().getDate(), a.getStatus()))
-                .toList();
+        return bounded(attendancePage(courseId, 0L, 0L, LocalDate.EPOCH, Limit.of(MAX_LIST_ROWS + 1)), "attendance");
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Dtos.SliceResponse<Dtos.AttendanceResponse> scrollAttendance(Long courseId, String after, int size) {
+        checkSize(size);
+        long afterStudentId = 0;
+        long afterCourseId = 0;
+        LocalDate afterDate = LocalDate.EPOCH;
+        if (after != null && !after.isBlank()) {
+            String[] keys = Cursors.decode(after, 3);
+            try {
+                afterStudentId = Long.parseLong(keys[0]);
+                afterCourseId = Long.parseLong(keys[1]);
+                afterDate = LocalDate.parse(keys[2]);
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        List<Dtos.AttendanceResponse> rows =
+                attendancePage(courseId, afterStudentId, afterCourseId, afterDate, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<Dtos.AttendanceResponse> page = hasMore ? rows.subList(0, size) : rows;
+        Dtos.AttendanceResponse last = hasMore ? page.get(page.size() - 1) : null;
+        String next = last == null ? null : Cursors.encode(last.studentId(), last.courseId(), last.date());
+        return new Dtos.SliceResponse<>(page, next, size);
+    }
+
+    private List<Dtos.AttendanceResponse> attendancePage(Long courseId, long afterStudentId, long afterCourseId,
+                                                         LocalDate afterDate, Limit limit) {
+        return courseId != null
+                ? attendanceRepository.findResponsesByCourse(courseId, afterStudentId, afterDate, limit)
+                : attendanceRepository.findAllResponses(afterStudentId, afterCourseId, afterDate, limit);
     }
 
+    @Transactional
     public Dtos.MarkResponse recordMark(Dtos.MarkRequest request) {
         Student student = studentRepository.findById(request.studentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
@@ -57,26 +140,71 @@ public class EngagementService {
         if (marksObtained.compareTo(maxMarks) > 0) {
             throw new IllegalArgumentException("marksObtained > maxMarks");
         }
-        Mark mark = Mark.builder()
-                .id(MarkId.builder()
-                        .studentId(student.getId())
-                        .courseId(course.getId())
-                        .examType(request.examType())
-                        .build())
-                .student(student)
-                .course(course)
-                .marksObtained(marksObtained)
-                .maxMarks(maxMarks)
-                .build();
-        markRepository.save(mark);
+        MarkBulkWriter.MarkRow previous = markRepository.upsertExam(course.getId(), request.examType(),
+                List.of(new MarkBulkWriter.MarkRow(student.getId(), marksObtained, maxMarks))).get(student.getId());
+        MarksRecordedEvent.Change change = new MarksRecordedEvent.Change(student.getId(),
+                student.getDepartment() == null ? null : student.getDepartment().getId(), course.getId(), request.examType(),
+                previous == null ? null : previous.marksObtained(), previous == null ? null : previous.maxMarks(),
+                marksObtained, maxMarks);
+        eventPublisher.publishEvent(new MarksRecordedEvent(List.of(change)));
         return new Dtos.MarkResponse(student.getId(), course.getId(), request.examType(), marksObtained, maxMarks);
     }
 
-    public List<Dtos.MarkResponse> listMarks(Long courseId) {
-        return markRepository.findAll().stream()
-                .filter(m -> courseId == null || m.getCourse().getId().equals(courseId))
-                .map(m -> new Dtos.MarkResponse(m.getStudent().getId(), m.getCourse().getId(),
-                        m.getId().getExamType(), m.getMarksObtained(), m.getMaxMarks()))
-                .toList();
+    /**
+     * Filtered marks as a single list. Refuses results larger than {@link #MAX_LIST_ROWS} rather
+     * than loading them; callers with more rows page through {@link #scrollMarks}.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<Dtos.MarkResponse> listMarks(Long courseId, Long studentId, String examType,
+                                             BigDecimal minScore, BigDecimal maxScore) {
+        return bounded(markRepository.findResponses(courseId, studentId, blankToNull(examType), minScore, maxScore,
+                0L, 0L, "", Limit.of(MAX_LIST_ROWS + 1)), "mark");
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Dtos.SliceResponse<Dtos.MarkResponse> scrollMarks(Long courseId, Long studentId, String examType,
+                                                             BigDecimal minScore, BigDecimal maxScore,
+                                                             String after, int size) {
+        checkSize(size);
+        long afterStudentId = 0;
+        long afterCourseId = 0;
+        String afterExamType = "";
+        if (after != null && !after.isBlank()) {
+            String[] keys = Cursors.decode(after, 3);
+            try {
+                afterStudentId = Long.parseLong(keys[0]);
+                afterCourseId = Long.parseLong(keys[1]);
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            afterExamType = keys[2];
+        }
+        List<Dtos.MarkResponse> rows = markRepository.findResponses(courseId, studentId, blankToNull(examType),
+                minScore, maxScore, afterStudentId, afterCourseId, afterExamType, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<Dtos.MarkResponse> page = hasMore ? rows.subList(0, size) : rows;
+        Dtos.MarkResponse last = hasMore ? page.get(page.size() - 1) : null;
+        String next = last == null ? null : Cursors.encode(last.studentId(), last.courseId(), last.examType());
+        return new Dtos.SliceResponse<>(page, next, size);
+    }
+
+    private static void checkSize(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+    }
+
+    private static <T> List<T> bounded(List<T> rows, String what) {
+        if (rows.size() > MAX_LIST_ROWS) {
+            throw new BadRequestException("More than " + MAX_LIST_ROWS + " " + what
+                    + " rows match; narrow the filters or use the scroll endpoint");
+        }
+        return rows;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
 }
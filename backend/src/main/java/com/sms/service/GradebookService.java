@@ -0,0 +1,131 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.exception.BadRequestException;
+import com.sms.exception.ResourceNotFoundException;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.MarkBulkWriter;
+import com.sms.repository.MarkRepository;
+import com.sms.repository.StudentRepository;
+import com.sms.util.CsvGradebookParser;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+@Service
+@RequiredArgsConstructor
+public class GradebookService {
+
+    private static final int LOOKUP_BATCH = 1000;
+
+    private final CsvGradebookParser parser;
+    private final MarkRepository markRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Dtos.CsvImportResponse upload(Long courseId, String examType, MultipartFile file) throws IOException {
+        try (var reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return upload(courseId, examType, parser.parse(reader));
+        }
+    }
+
+    /**
+     * Records one exam for a course. All rows are validated before anything is written; rows that
+     * fail are reported by their 1-based position and the rest are upserted in one batch.
+     */
+    @Transactional
+    public Dtos.CsvImportResponse upload(Long courseId, String examType, List<Dtos.GradebookEntry> entries) {
+        if (examType == null || examType.isBlank()) {
+            throw new BadRequestException("examType is required");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        Map<String, Long[]> students = resolveStudents(entries);
+        Map<Long, Long> departments = new HashMap<>();
+        List<MarkBulkWriter.MarkRow> rows = new ArrayList<>(entries.size());
+        List<Dtos.CsvRowError> errors = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Dtos.GradebookEntry entry = entries.get(i);
+            String error = validate(entry);
+            Long[] student = entry.rollNo() == null ? null : students.get(entry.rollNo());
+            Long studentId = student == null ? null : student[0];
+            if (error == null && studentId == null) {
+                error = "Unknown rollNo " + entry.rollNo();
+            }
+            if (error == null && !seen.add(studentId)) {
+                error = "Duplicate rollNo " + entry.rollNo() + " in upload";
+            }
+            if (error != null) {
+                errors.add(new Dtos.CsvRowError(i + 1, error));
+            } else {
+                rows.add(new MarkBulkWriter.MarkRow(studentId, entry.marksObtained(), entry.maxMarks()));
+                departments.put(studentId, student[1]);
+            }
+        }
+        if (!rows.isEmpty()) {
+            String exam = examType.trim();
+            Map<Long, MarkBulkWriter.MarkRow> previous = markRepository.upsertExam(courseId, exam, rows);
+            eventPublisher.publishEvent(new MarksRecordedEvent(rows.stream()
+                    .map(row -> {
+                        MarkBulkWriter.MarkRow old = previous.get(row.studentId());
+                        return new MarksRecordedEvent.Change(row.studentId(), departments.get(row.studentId()), courseId, exam,
+                                old == null ? null : old.marksObtained(), old == null ? null : old.maxMarks(),
+                                row.marksObtained(), row.maxMarks());
+                    })
+                    .toList()));
+        }
+        return new Dtos.CsvImportResponse(entries.size(), rows.size(), errors.size(), errors);
+    }
+
+    /** Roll number to {student id, department id}. */
+    private Map<String, Long[]> resolveStudents(List<Dtos.GradebookEntry> entries) {
+        List<String> rollNos = entries.stream()
+                .map(Dtos.GradebookEntry::rollNo)
+                .filter(rollNo -> rollNo != null && !rollNo.isBlank())
+                .distinct()
+                .toList();
+        Map<String, Long[]> ids = new HashMap<>();
+        for (int i = 0; i < rollNos.size(); i += LOOKUP_BATCH) {
+            for (Object[] row : studentRepository.findIdsByRollNos(rollNos.subList(i, Math.min(i + LOOKUP_BATCH, rollNos.size())))) {
+                ids.put((String) row[0], new Long[]{(Long) row[1], (Long) row[2]});
+            }
+        }
+        return ids;
+    }
+
+    private static String validate(Dtos.GradebookEntry entry) {
+        if (entry.rollNo() == null || entry.rollNo().isBlank()) {
+            return "rollNo is required";
+        }
+        if (entry.marksObtained() == null || entry.maxMarks() == null) {
+            return "marksObtained and maxMarks must be numbers";
+        }
+        if (entry.marksObtained().signum() < 0) {
+            return "marksObtained must not be negative";
+        }
+        if (entry.maxMarks().compareTo(BigDecimal.ONE) < 0) {
+            return "maxMarks must be at least 1";
+        }
+        if (entry.marksObtained().compareTo(entry.maxMarks()) > 0) {
+            return "marksObtained > maxMarks";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one student import. Counters are updated by the importing thread and read by
+ * pollers; only the first {@code maxErrors} row errors are kept.
+ */
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Instant createdAt = Instant.now();
+    private final long totalBytes;
+    private final int maxErrors;
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<Dtos.CsvRowError> errors = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile String message;
+
+    public ImportJob(long totalBytes, int maxErrors) {
+        this.totalBytes = totalBytes;
+        this.maxErrors = maxErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void failed(String reason) {
+        message = reason;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    void bytesRead(long count) {
+        bytesRead.addAndGet(count);
+    }
+
+    void rowRead() {
+        processed.incrementAndGet();
+    }
+
+    void rowsSucceeded(int count) {
+        succeeded.addAndGet(count);
+    }
+
+    void rowFailed(int row, String reason) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new Dtos.CsvRowError(row, reason));
+            }
+        }
+    }
+
+    private List<Dtos.CsvRowError> sortedErrors() {
+        synchronized (errors) {
+            List<Dtos.CsvRowError> copy = new ArrayList<>(errors);
+            copy.sort(Comparator.comparingInt(Dtos.CsvRowError::row));
+            return copy;
+        }
+    }
+
+    public Dtos.CsvImportResponse toImportResponse() {
+        return new Dtos.CsvImportResponse(processed.get(), succeeded.get(), failed.get(), sortedErrors());
+    }
+
+    public Dtos.ImportJobResponse toJobResponse() {
+        return new Dtos.ImportJobResponse(id, status.name(), bytesRead.get(), totalBytes,
+                processed.get(), succeeded.get(), failed.get(), sortedErrors(), createdAt, finishedAt, message);
+    }
+}
@@ -0,0 +1,210 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.exception.BadRequestException;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.MarkRepository;
+import com.sms.util.MarkColumns;
+import com.sms.util.ScoreSketch;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Course mark statistics over a {@link MarkColumns} snapshot of every mark, and a
+ * {@link ScoreSketch} per course and exam type for grade distributions. Committed mark writes
+ * are applied in place; the snapshot is rebuilt after startup and with the dashboard
+ * reconciliation, which also drops marks of deleted students. Writes that commit while a rebuild
+ * is reading are replayed onto the new snapshot before it is published.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarksAnalytics {
+
+    private static final int LOAD_BATCH = 5000;
+
+    private final MarkRepository markRepository;
+    private final CourseRepository courseRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    private List<MarksRecordedEvent.Change> writtenDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${dashboard.reconcileCron:0 30 3 * * *}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            writtenDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        State rebuilt = new State();
+        try {
+            load(rebuilt);
+        } catch (RuntimeException ex) {
+            publish(null);
+            throw ex;
+        }
+        publish(rebuilt);
+        log.info("Marks snapshot rebuilt with {} marks in {} ms", rebuilt.columns.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarksRecorded(MarksRecordedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (MarksRecordedEvent.Change change : event.changes()) {
+                state.apply(change);
+            }
+            if (writtenDuringRebuild != null) {
+                writtenDuringRebuild.addAll(event.changes());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Dtos.CourseMarkStats> courseStats() {
+        lock.readLock().lock();
+        try {
+            return state.columns.courseStats().stream().map(MarksAnalytics::toResponse).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Dtos.CourseMarkStats courseStats(Long courseId) {
+        lock.readLock().lock();
+        try {
+            return toResponse(state.columns.courseStats(courseId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Dtos.NormalizedMark> normalized(Long courseId) {
+        lock.readLock().lock();
+        try {
+            return state.columns.normalized(courseId).stream()
+                    .map(s -> new Dtos.NormalizedMark(s.studentId(), s.examType(), s.score(), s.zScore()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Percentiles and histogram of one course, or of every course in a department, for one exam
+     * type or all of them. Department views merge the course sketches.
+     */
+    public Dtos.GradeDistribution distribution(Long courseId, Long departmentId, String examType) {
+        if ((courseId == null) == (departmentId == null)) {
+            throw new BadRequestException("Exactly one of courseId and departmentId is required");
+        }
+        String exam = examType == null || examType.isBlank() ? null : examType;
+        Collection<Long> courseIds = courseId != null ? List.of(courseId)
+                : courseRepository.findIdsByDepartmentId(departmentId);
+        ScoreSketch sketch;
+        lock.readLock().lock();
+        try {
+            sketch = state.merged(courseIds, exam);
+        } finally {
+            lock.readLock().unlock();
+        }
+        long[] counts = sketch.histogram();
+        int width = 100 / ScoreSketch.HISTOGRAM_BUCKETS;
+        List<Dtos.HistogramBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new Dtos.HistogramBucket(i * width, (i + 1) * width, counts[i]));
+        }
+        boolean empty = sketch.count() == 0;
+        return new Dtos.GradeDistribution(courseId, departmentId, exam, sketch.count(),
+                empty ? null : sketch.quantile(0.1), empty ? null : sketch.quantile(0.5),
+                empty ? null : sketch.quantile(0.9), buckets);
+    }
+
+    private void load(State target) {
+        List<Dtos.MarkResponse> batch;
+        Dtos.MarkResponse last = null;
+        do {
+            batch = last == null
+                    ? markRepository.findResponses(null, null, null, null, null, 0L, 0L, "", Limit.of(LOAD_BATCH))
+                    : markRepository.findResponses(null, null, null, null, null,
+                            last.studentId(), last.courseId(), last.examType(), Limit.of(LOAD_BATCH));
+            for (Dtos.MarkResponse mark : batch) {
+                target.put(mark.studentId(), mark.courseId(), mark.examType(),
+                        mark.marksObtained().doubleValue(), mark.maxMarks().doubleValue());
+                last = mark;
+            }
+        } while (batch.size() == LOAD_BATCH);
+    }
+
+    private void publish(State rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                writtenDuringRebuild.forEach(rebuilt::apply);
+                state = rebuilt;
+            }
+            writtenDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Dtos.CourseMarkStats toResponse(MarkColumns.CourseStats stats) {
+        return new Dtos.CourseMarkStats(stats.courseId(), stats.count(), stats.mean(), stats.stddev());
+    }
+
+    private static final class State {
+        private final MarkColumns columns = new MarkColumns();
+        private final Map<Long, Map<String, ScoreSketch>> sketches = new HashMap<>();
+
+        void apply(MarksRecordedEvent.Change change) {
+            put(change.studentId(), change.courseId(), change.examType(),
+                    change.obtained().doubleValue(), change.max().doubleValue());
+        }
+
+        void put(long studentId, long courseId, String examType, double obtained, double max) {
+            double previous = columns.put(studentId, courseId, examType, obtained, max);
+            ScoreSketch sketch = sketches.computeIfAbsent(courseId, id -> new HashMap<>())
+                    .computeIfAbsent(examType, type -> new ScoreSketch());
+            if (!Double.isNaN(previous)) {
+                sketch.remove(previous);
+            }
+            sketch.add(MarkColumns.score(obtained, max));
+        }
+
+        ScoreSketch merged(Collection<Long> courseIds, String examType) {
+            ScoreSketch merged = new ScoreSketch();
+            for (Long courseId : courseIds) {
+                Map<String, ScoreSketch> byExam = sketches.getOrDefault(courseId, Map.of());
+                if (examType != null) {
+                    ScoreSketch sketch = byExam.get(examType);
+                    if (sketch != null) {
+                        merged.merge(sketch);
+                    }
+                } else {
+                    byExam.values().forEach(merged::merge);
+                }
+            }
+            return merged;
+        }
+    }
+}
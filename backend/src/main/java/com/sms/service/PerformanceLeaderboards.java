@@ -0,0 +1,310 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.Student;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.exception.BadRequestException;
+import com.sms.repository.MarkRepository;
+import com.sms.repository.StudentMarkSummaryRepository;
+import com.sms.repository.StudentRepository;
+import com.sms.util.Leaderboard;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Students ranked by average mark ratio, globally, within their department and within each
+ * course. Committed mark writes update the rankings in place; the whole structure is rebuilt from
+ * the database after startup and with the dashboard reconciliation, which also picks up students
+ * who changed department.
+ *
+ * <p>The rebuild reads without holding the lock, so writes can commit while it runs and the scan
+ * may or may not include them. Their deltas cannot simply be replayed; instead, the students they
+ * touched are read again, absolutely, under the write lock just before the new state is
+ * published. A write registers its students as in flight when it publishes its event, before it
+ * commits, and applies its delta once it completes. A student with a write still in flight at
+ * publication cannot be read yet, because that write may commit either side of the read; it is
+ * marked stale instead, skips deltas, and is read again when its last in-flight write completes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PerformanceLeaderboards {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final StudentMarkSummaryRepository studentMarkSummaryRepository;
+    private final MarkRepository markRepository;
+    private final StudentRepository studentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // All guarded by the write lock.
+    private State state = new State();
+    private final Map<Long, Integer> inFlight = new HashMap<>();
+    private final Set<Long> stale = new HashSet<>();
+    private Set<Long> touchedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${dashboard.reconcileCron:0 30 3 * * *}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        State rebuilt = new State();
+        try {
+            for (Object[] row : studentMarkSummaryRepository.findAllWithDepartment()) {
+                Long studentId = (Long) row[0];
+                rebuilt.studentTotals.put(studentId, new double[]{(Double) row[2], (Long) row[3]});
+                rebuilt.departmentOf.put(studentId, (Long) row[1]);
+            }
+            for (Object[] row : markRepository.sumScoresByCourseAndStudent()) {
+                rebuilt.courseTotals.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                        .put((Long) row[1], new double[]{((Number) row[2]).doubleValue(), (Long) row[3]});
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                touchedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+        rebuilt.studentTotals.forEach((studentId, totals) -> rebuilt.rankStudent(studentId));
+        rebuilt.courseTotals.forEach((courseId, students) ->
+                students.keySet().forEach(studentId -> rebuilt.rankInCourse(courseId, studentId)));
+        lock.writeLock().lock();
+        try {
+            Set<Long> touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+            touched.removeAll(inFlight.keySet());
+            if (!touched.isEmpty()) {
+                reload(rebuilt, touched);
+            }
+            state = rebuilt;
+            stale.clear();
+            stale.addAll(inFlight.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Leaderboards rebuilt for {} students in {} ms", rebuilt.studentTotals.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    @EventListener
+    public void onMarksRecorded(MarksRecordedEvent event) {
+        Set<Long> studentIds = event.changes().stream()
+                .map(MarksRecordedEvent.Change::studentId)
+                .collect(Collectors.toSet());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completed(event, studentIds, true);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            studentIds.forEach(studentId -> inFlight.merge(studentId, 1, Integer::sum));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completed(event, studentIds, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void completed(MarksRecordedEvent event, Set<Long> studentIds, boolean committed) {
+        lock.writeLock().lock();
+        try {
+            if (committed) {
+                if (touchedDuringRebuild != null) {
+                    touchedDuringRebuild.addAll(studentIds);
+                }
+                for (MarksRecordedEvent.Change change : event.changes()) {
+                    if (!stale.contains(change.studentId())) {
+                        state.apply(change);
+                    }
+                }
+            }
+            Set<Long> settled = new HashSet<>();
+            for (Long studentId : studentIds) {
+                if (inFlight.computeIfPresent(studentId, (id, count) -> count == 1 ? null : count - 1) == null
+                        && stale.remove(studentId)) {
+                    settled.add(studentId);
+                }
+            }
+            if (!settled.isEmpty()) {
+                reload(state, settled);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the totals of the given students in {@code target} with what the database holds
+     * now. None of them has a write in flight, so this read includes all their marks whether or
+     * not the scan did.
+     */
+    private void reload(State target, Set<Long> studentIds) {
+        Map<Long, Object[]> summaries = studentMarkSummaryRepository.findWithDepartmentByStudentIdIn(studentIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], Function.identity()));
+        for (Long studentId : studentIds) {
+            Object[] row = summaries.get(studentId);
+            double[] totals = row == null ? new double[2] : new double[]{(Double) row[2], (Long) row[3]};
+            target.reset(studentId, row == null ? target.departmentOf.get(studentId) : (Long) row[1], totals);
+        }
+        target.courseTotals.forEach((courseId, students) -> {
+            for (Long studentId : studentIds) {
+                double[] totals = students.get(studentId);
+                if (totals != null) {
+                    totals[0] = 0;
+                    totals[1] = 0;
+                }
+            }
+        });
+        for (Object[] row : markRepository.sumScoresByCourseAndStudentIn(studentIds)) {
+            target.courseTotals.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .put((Long) row[1], new double[]{((Number) row[2]).doubleValue(), (Long) row[3]});
+        }
+        target.courseTotals.forEach((courseId, students) -> {
+            for (Long studentId : studentIds) {
+                if (students.containsKey(studentId)) {
+                    target.rankInCourse(courseId, studentId);
+                }
+            }
+        });
+    }
+
+    public List<Dtos.TopPerformer> topPerformers(Long courseId, Long departmentId, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<Leaderboard.Entry> top = top(courseId, departmentId, limit);
+        Map<Long, Student> students = studentRepository.findAllById(top.stream().map(Leaderboard.Entry::id).toList())
+                .stream().collect(Collectors.toMap(Student::getId, Function.identity()));
+        return top.stream()
+                .filter(entry -> students.containsKey(entry.id()))
+                .map(entry -> {
+                    Student student = students.get(entry.id());
+                    return new Dtos.TopPerformer(entry.id(), student.getFirstName() + " " + student.getLastName(),
+                            entry.score() * 100);
+                })
+                .toList();
+    }
+
+    /**
+     * Top entries of the course board if {@code courseId} is given, else of the department board
+     * if {@code departmentId} is given, else of the global board. Scores are average ratios in
+     * {@code [0, 1]}.
+     */
+    public List<Leaderboard.Entry> top(Long courseId, Long departmentId, int limit) {
+        lock.readLock().lock();
+        try {
+            Leaderboard board = courseId != null ? state.byCourse.get(courseId)
+                    : departmentId != null ? state.byDepartment.get(departmentId)
+                    : state.global;
+            return board == null ? List.of() : board.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class State {
+        private final Map<Long, double[]> studentTotals = new HashMap<>();
+        private final Map<Long, Long> departmentOf = new HashMap<>();
+        private final Map<Long, Map<Long, double[]>> courseTotals = new HashMap<>();
+        private final Leaderboard global = new Leaderboard();
+        private final Map<Long, Leaderboard> byDepartment = new HashMap<>();
+        private final Map<Long, Leaderboard> byCourse = new HashMap<>();
+
+        void apply(MarksRecordedEvent.Change change) {
+            double scoreDelta = ratio(change.obtained(), change.max());
+            int countDelta = 1;
+            if (!change.created()) {
+                scoreDelta -= ratio(change.previousObtained(), change.previousMax());
+                countDelta = 0;
+            }
+            add(studentTotals.computeIfAbsent(change.studentId(), id -> new double[2]), scoreDelta, countDelta);
+            add(courseTotals.computeIfAbsent(change.courseId(), id -> new HashMap<>())
+                    .computeIfAbsent(change.studentId(), id -> new double[2]), scoreDelta, countDelta);
+            moveToDepartment(change.studentId(), change.departmentId());
+            rankStudent(change.studentId());
+            rankInCourse(change.courseId(), change.studentId());
+        }
+
+        void reset(Long studentId, Long departmentId, double[] totals) {
+            studentTotals.put(studentId, totals);
+            moveToDepartment(studentId, departmentId);
+            rankStudent(studentId);
+        }
+
+        private void moveToDepartment(Long studentId, Long departmentId) {
+            Long previousDepartment = departmentOf.put(studentId, departmentId);
+            if (previousDepartment != null && !Objects.equals(previousDepartment, departmentId)) {
+                Leaderboard old = byDepartment.get(previousDepartment);
+                if (old != null) {
+                    old.remove(studentId);
+                }
+            }
+        }
+
+        void rankStudent(Long studentId) {
+            double[] totals = studentTotals.get(studentId);
+            Long departmentId = departmentOf.get(studentId);
+            Leaderboard department = departmentId == null ? null
+                    : byDepartment.computeIfAbsent(departmentId, id -> new Leaderboard());
+            if (totals[1] <= 0) {
+                global.remove(studentId);
+                if (department != null) {
+                    department.remove(studentId);
+                }
+                return;
+            }
+            global.put(studentId, totals[0] / totals[1]);
+            if (department != null) {
+                department.put(studentId, totals[0] / totals[1]);
+            }
+        }
+
+        void rankInCourse(Long courseId, Long studentId) {
+            double[] totals = courseTotals.get(courseId).get(studentId);
+            Leaderboard course = byCourse.computeIfAbsent(courseId, id -> new Leaderboard());
+            if (totals[1] <= 0) {
+                course.remove(studentId);
+            } else {
+                course.put(studentId, totals[0] / totals[1]);
+            }
+        }
+
+        private static void add(double[] totals, double score, int count) {
+            totals[0] += score;
+            totals[1] += count;
+        }
+
+        private static double ratio(BigDecimal obtained, BigDecimal max) {
+            return obtained.doubleValue() / max.doubleValue();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.sms.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves each id sequence past the ids already in its table. Databases created while entities
+ * used IDENTITY columns hold rows the new sequences know nothing about, and
+ * {@code ddl-auto: update} creates those sequences starting at 1. Runs before
+ * {@link DataInitializer} inserts anything.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenceAligner {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "users", "app_user_seq",
+            "department", "department_seq",
+            "teacher", "teacher_seq",
+            "student", "student_seq",
+            "course", "course_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            Long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            // the pooled optimizer hands out (next - ALLOCATION_SIZE, next] for a fetched value
+            if (maxId != null && next != null && next - ALLOCATION_SIZE < maxId) {
+                long restart = maxId + ALLOCATION_SIZE;
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+                log.info("Restarted {} at {} to clear existing {} ids", sequence, restart, table);
+            }
+        });
+    }
+}
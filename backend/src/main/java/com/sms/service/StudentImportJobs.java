@@ -0,0 +1,122 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.exception.ResourceNotFoundException;
+import com.sms.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Background student imports. Uploads are spooled to a temp file so the request returns
+ * immediately; at most {@code import.maxConcurrentJobs} run at once and a further
+ * {@code import.maxQueuedJobs} may wait. Finished jobs stay pollable for
+ * {@code import.jobRetentionMinutes}. Job state is held per instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentImportJobs {
+
+    @Value("${import.maxConcurrentJobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${import.maxQueuedJobs:8}")
+    private int maxQueuedJobs;
+
+    @Value("${import.maxReportedErrors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${import.jobRetentionMinutes:60}")
+    private long jobRetentionMinutes;
+
+    private final CsvImportService csvImportService;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "student-import-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Dtos.ImportJobResponse submit(MultipartFile file) throws IOException {
+        Path spool = Files.createTempFile("student-import-", ".csv");
+        ImportJob job = new ImportJob(file.getSize(), maxReportedErrors);
+        try {
+            file.transferTo(spool);
+            jobs.put(job.getId(), job);
+            executor.execute(() -> run(job, spool));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spool);
+            throw new TooManyRequestsException("Too many imports in progress, retry later", 30);
+        } catch (IOException | RuntimeException ex) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spool);
+            throw ex;
+        }
+        return job.toJobResponse();
+    }
+
+    public Dtos.ImportJobResponse status(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job not found");
+        }
+        return job.toJobResponse();
+    }
+
+    private void run(ImportJob job, Path spool) {
+        job.started();
+        try (InputStream in = Files.newInputStream(spool)) {
+            csvImportService.importStudents(in, job);
+            job.completed();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Student import {} failed", job.getId(), ex);
+            job.failed(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException ex) {
+                log.warn("Could not delete import spool {}", spool, ex);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeFinished() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(jobRetentionMinutes));
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
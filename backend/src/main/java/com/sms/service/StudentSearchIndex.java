@@ -0,0 +1,92 @@
+package com.sms.service;
+
+import com.sms.entity.Student;
+import com.sms.event.StudentChangedEvent;
+import com.sms.repository.StudentRepository;
+import com.sms.util.TrigramIndex;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory trigram index over student name, roll number and email. It is loaded in the
+ * background after startup; until {@link #isReady()} the caller is expected to use SQL. Writes
+ * reach it after their transaction commits, so a rolled-back write never shows up in searches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentSearchIndex {
+
+    private static final int LOAD_BATCH = 5000;
+
+    private final StudentRepository studentRepository;
+    private final TrigramIndex index = new TrigramIndex();
+    private final Set<Long> removedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(this::load, "student-search-index");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    void load() {
+        try {
+            long started = System.currentTimeMillis();
+            long lastId = 0;
+            List<Student> batch;
+            do {
+                batch = studentRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH));
+                for (Student student : batch) {
+                    if (!index.contains(student.getId()) && !removedWhileLoading.contains(student.getId())) {
+                        put(student);
+                    }
+                    lastId = student.getId();
+                }
+            } while (batch.size() == LOAD_BATCH);
+            ready = true;
+            removedWhileLoading.clear();
+            log.info("Student search index loaded {} students in {} ms", index.size(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException ex) {
+            log.warn("Student search index failed to load, searches stay on SQL", ex);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public TrigramIndex.Hits search(String query, long offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    public List<Long> searchAfter(String query, long afterId, int limit) {
+        return index.searchAfter(query, afterId, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.deleted()) {
+            if (!ready) {
+                removedWhileLoading.add(event.studentId());
+            }
+            index.remove(event.studentId());
+        } else {
+            index.put(event.studentId(), event.firstName(), event.lastName(), event.rollNo(), event.email());
+        }
+    }
+
+    private void put(Student student) {
+        index.put(student.getId(), student.getFirstName(), student.getLastName(), student.getRollNo(), student.getEmail());
+    }
+}
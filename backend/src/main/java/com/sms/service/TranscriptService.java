@@ -0,0 +1,242 @@
+package com.sms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sms.dto.Dtos;
+import com.sms.entity.StudentRecordVersion;
+import com.sms.event.EnrollmentChangedEvent;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.exception.ResourceNotFoundException;
+import com.sms.repository.EnrollmentRepository;
+import com.sms.repository.JdbcUpserts;
+import com.sms.repository.MarkRepository;
+import com.sms.repository.StudentRecordVersionRepository;
+import com.sms.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Credit-weighted semester (SGPA) and cumulative (CGPA) grade point averages on a ten-point
+ * scale. A course is graded from the student's total marks across its exams; courses without
+ * marks are listed but not graded, and dropped or withdrawn enrollments are left out. Marks are
+ * not recorded per semester, so a course taken more than once is graded in the latest semester it
+ * was taken and its earlier attempts are listed ungraded. Semesters are ordered by comparing
+ * their labels, which enrollment normalises to {@code YYYY-Sn} so that this is chronological.
+ * Transcripts are cached under the student's record version, which the mark and enrollment write
+ * paths bump in their transactions, so a cached transcript is never served after the data behind
+ * it changed.
+ */
+@Slf4j
+@Service
+public class TranscriptService {
+
+    private record Key(long studentId, long version) {}
+
+    private record CourseRow(String semester, Long courseId, String code, String title, int credits) {}
+
+    private static final int RECOMPUTE_BATCH = 1000;
+    private static final String[] VERSION_KEY = {"student_id"};
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final MarkRepository markRepository;
+    private final StudentRecordVersionRepository versionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcUpserts upserts;
+    private final ForkJoinPool pool;
+    private final Cache<Key, Dtos.Transcript> cache;
+
+    public TranscriptService(StudentRepository studentRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             MarkRepository markRepository,
+                             StudentRecordVersionRepository versionRepository,
+                             JdbcTemplate jdbcTemplate,
+                             JdbcUpserts upserts,
+                             @Value("${transcripts.cache.maximumSize:50000}") long maximumSize,
+                             @Value("${transcripts.recomputeThreads:0}") int recomputeThreads,
+                             MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.markRepository = markRepository;
+        this.versionRepository = versionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.upserts = upserts;
+        this.pool = new ForkJoinPool(recomputeThreads > 0 ? recomputeThreads : Runtime.getRuntime().availableProcessors());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "transcripts");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @EventListener
+    public void onMarksRecorded(MarksRecordedEvent event) {
+        bumpVersions(event.changes().stream().map(MarksRecordedEvent.Change::studentId).distinct().toList());
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        bumpVersions(List.of(event.studentId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Dtos.Transcript transcript(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found");
+        }
+        long version = versionRepository.findById(studentId).map(StudentRecordVersion::getVersion).orElse(0L);
+        return cache.get(new Key(studentId, version),
+                key -> compute(List.of(studentId), Map.of(studentId, version)).get(0));
+    }
+
+    /**
+     * Recomputes and caches every student's transcript. Batches of students are read on the
+     * calling thread while earlier batches are graded on the recompute pool.
+     */
+    @Transactional(readOnly = true)
+    public Dtos.TranscriptRecomputeResponse recomputeAll() {
+        long started = System.currentTimeMillis();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        int students = 0;
+        long lastId = 0;
+        List<Long> batch;
+        do {
+            batch = studentRepository.findIdsAfter(lastId, Limit.of(RECOMPUTE_BATCH));
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<Long, Long> versions = new HashMap<>();
+            versionRepository.findAllById(batch).forEach(v -> versions.put(v.getStudentId(), v.getVersion()));
+            batch.forEach(id -> versions.putIfAbsent(id, 0L));
+            Map<Long, List<CourseRow>> courses = courseRows(batch);
+            Map<Long, Map<Long, double[]>> marks = markTotals(batch);
+            List<Long> ids = batch;
+            tasks.add(pool.submit(() -> ids.parallelStream().forEach(id -> {
+                long version = versions.get(id);
+                cache.put(new Key(id, version), transcript(id, version,
+                        courses.getOrDefault(id, List.of()), marks.getOrDefault(id, Map.of())));
+            })));
+            students += batch.size();
+            lastId = batch.get(batch.size() - 1);
+        } while (batch.size() == RECOMPUTE_BATCH);
+        tasks.forEach(ForkJoinTask::join);
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Recomputed {} transcripts in {} ms", students, elapsed);
+        return new Dtos.TranscriptRecomputeResponse(students, elapsed);
+    }
+
+    private List<Dtos.Transcript> compute(List<Long> studentIds, Map<Long, Long> versions) {
+        Map<Long, List<CourseRow>> courses = courseRows(studentIds);
+        Map<Long, Map<Long, double[]>> marks = markTotals(studentIds);
+        return studentIds.stream()
+                .map(id -> transcript(id, versions.get(id), courses.getOrDefault(id, List.of()),
+                        marks.getOrDefault(id, Map.of())))
+                .toList();
+    }
+
+    private Map<Long, List<CourseRow>> courseRows(List<Long> studentIds) {
+        Map<Long, List<CourseRow>> rows = new HashMap<>();
+        for (Object[] row : enrollmentRepository.findTranscriptRows(studentIds)) {
+            rows.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(new CourseRow((String) row[1], (Long) row[2], (String) row[3], (String) row[4], (Integer) row[5]));
+        }
+        return rows;
+    }
+
+    private Map<Long, Map<Long, double[]>> markTotals(List<Long> studentIds) {
+        Map<Long, Map<Long, double[]>> totals = new HashMap<>();
+        for (Object[] row : markRepository.sumMarksByStudentAndCourse(studentIds)) {
+            totals.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .put((Long) row[1], new double[]{((BigDecimal) row[2]).doubleValue(), ((BigDecimal) row[3]).doubleValue()});
+        }
+        return totals;
+    }
+
+    private static Dtos.Transcript transcript(Long studentId, long version, List<CourseRow> courses,
+                                              Map<Long, double[]> marks) {
+        Map<String, List<CourseRow>> bySemester = new LinkedHashMap<>();
+        Map<Long, String> gradedIn = new HashMap<>();
+        courses.forEach(row -> {
+            bySemester.computeIfAbsent(row.semester(), s -> new ArrayList<>()).add(row);
+            gradedIn.merge(row.courseId(), row.semester(), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        });
+        List<Dtos.TranscriptSemester> semesters = new ArrayList<>(bySemester.size());
+        int totalCredits = 0;
+        double totalPoints = 0;
+        for (Map.Entry<String, List<CourseRow>> semester : bySemester.entrySet()) {
+            List<Dtos.TranscriptCourse> graded = new ArrayList<>(semester.getValue().size());
+            int credits = 0;
+            double points = 0;
+            for (CourseRow row : semester.getValue()) {
+                double[] total = marks.get(row.courseId());
+                if (total == null || total[1] <= 0 || !semester.getKey().equals(gradedIn.get(row.courseId()))) {
+                    graded.add(new Dtos.TranscriptCourse(row.courseId(), row.code(), row.title(), row.credits(),
+                            null, null, null));
+                    continue;
+                }
+                double percentage = Math.round(total[0] * 1000 / total[1]) / 10.0;
+                int gradePoints = gradePoints(percentage);
+                graded.add(new Dtos.TranscriptCourse(row.courseId(), row.code(), row.title(), row.credits(),
+                        percentage, grade(gradePoints), (double) gradePoints));
+                credits += row.credits();
+                points += (double) row.credits() * gradePoints;
+            }
+            semesters.add(new Dtos.TranscriptSemester(semester.getKey(), credits, average(points, credits), graded));
+            totalCredits += credits;
+            totalPoints += points;
+        }
+        return new Dtos.Transcript(studentId, version, totalCredits, average(totalPoints, totalCredits), semesters);
+    }
+
+    private static int gradePoints(double percentage) {
+        if (percentage >= 90) {
+            return 10;
+        }
+        if (percentage < 40) {
+            return 0;
+        }
+        return 5 + (int) ((percentage - 40) / 10);
+    }
+
+    private static String grade(int gradePoints) {
+        return switch (gradePoints) {
+            case 10 -> "O";
+            case 9 -> "A+";
+            case 8 -> "A";
+            case 7 -> "B+";
+            case 6 -> "B";
+            case 5 -> "C";
+            default -> "F";
+        };
+    }
+
+    private static Double average(double points, int credits) {
+        return credits == 0 ? null : Math.round(points * 100 / credits) / 100.0;
+    }
+
+    private void bumpVersions(List<Long> studentIds) {
+        List<Object[]> rows = studentIds.stream().map(id -> new Object[]{id, 1L}).toList();
+        jdbcTemplate.batchUpdate(upserts.increment("student_record_version", VERSION_KEY, "version"), rows);
+    }
+}
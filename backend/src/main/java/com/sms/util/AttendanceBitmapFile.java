@@ -0,0 +1,287 @@
+package com.sms.util;
+
+import com.sms.entity.AttendanceStatus;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Attendance for one semester as three parallel bitsets (present, absent, late) per
+ * student-course pair, one bit per calendar day from the semester start, kept in a memory-mapped
+ * file. Days with no class, or marked EXCUSED, have no bit set in any of the three.
+ *
+ * <p>Layout: a 32-byte header (magic, days, start epoch day, slot count, slot capacity) followed
+ * by fixed-size slots of {@code studentId, courseId, present[], absent[], late[]}.
+ */
+public final class AttendanceBitmapFile implements Closeable {
+
+    public record Stats(int present, int absent, int late, int currentStreak, int longestStreak) {
+
+        public int recorded() {
+            return present + absent + late;
+        }
+    }
+
+    private record Pair(long studentId, long courseId) {}
+
+    private static final int MAGIC = 0x41424d31;
+    private static final int HEADER_BYTES = 32;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    private final LocalDate start;
+    private final int days;
+    private final int words;
+    private final int slotBytes;
+    private final boolean created;
+    private final Map<Pair, Integer> slots = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer buffer;
+    private int capacity;
+
+    private AttendanceBitmapFile(FileChannel channel, FileLock fileLock, LocalDate start, int days) throws IOException {
+        this.channel = channel;
+        this.fileLock = fileLock;
+        this.start = start;
+        this.days = days;
+        this.words = (days + 63) >>> 6;
+        this.slotBytes = 16 + 3 * words * Long.BYTES;
+        if (channel.size() >= HEADER_BYTES && headerMatches()) {
+            this.created = false;
+            this.capacity = buffer.getInt(20);
+            int count = buffer.getInt(16);
+            for (int slot = 0; slot < count; slot++) {
+                int offset = slotOffset(slot);
+                slots.put(new Pair(buffer.getLong(offset), buffer.getLong(offset + 8)), slot);
+            }
+        } else {
+            this.created = true;
+            channel.truncate(0);
+            this.capacity = INITIAL_CAPACITY;
+            map();
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, days);
+            buffer.putLong(8, start.toEpochDay());
+            buffer.putInt(16, 0);
+            buffer.putInt(20, capacity);
+        }
+    }
+
+    /**
+     * Opens the file for the given semester, or starts it empty when it is missing or was written
+     * for a different semester ({@link #created()} tells which). The file is locked for the
+     * lifetime of the instance.
+     */
+    public static AttendanceBitmapFile open(Path path, LocalDate start, int days) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock = channel.tryLock();
+            if (fileLock == null) {
+                throw new IOException(path + " is locked by another process");
+            }
+            return new AttendanceBitmapFile(channel, fileLock, start, days);
+        } catch (OverlappingFileLockException ex) {
+            channel.close();
+            throw new IOException(path + " is already open", ex);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public boolean created() {
+        return created;
+    }
+
+    public boolean covers(LocalDate date) {
+        long day = date.toEpochDay() - start.toEpochDay();
+        return day >= 0 && day < days;
+    }
+
+    public void set(long studentId, long courseId, LocalDate date, AttendanceStatus status) {
+        if (!covers(date)) {
+            return;
+        }
+        int day = (int) (date.toEpochDay() - start.toEpochDay());
+        int word = day >>> 6;
+        long bit = 1L << (day & 63);
+        lock.writeLock().lock();
+        try {
+            int offset = slotOffset(slotFor(studentId, courseId));
+            for (int set = 0; set < 3; set++) {
+                int address = wordOffset(offset, set, word);
+                buffer.putLong(address, buffer.getLong(address) & ~bit);
+            }
+            int set = switch (status) {
+                case PRESENT -> 0;
+                case ABSENT -> 1;
+                case LATE -> 2;
+                case EXCUSED -> -1;
+            };
+            if (set >= 0) {
+                int address = wordOffset(offset, set, word);
+                buffer.putLong(address, buffer.getLong(address) | bit);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts and present streaks between two dates inclusive, clamped to the semester. Streaks
+     * count consecutive recorded class days marked present; the current streak is the one that
+     * runs up to the last recorded day.
+     */
+    public Stats stats(long studentId, long courseId, LocalDate from, LocalDate to) {
+        int first = (int) Math.max(0, from.toEpochDay() - start.toEpochDay());
+        int last = (int) Math.min(days - 1L, to.toEpochDay() - start.toEpochDay());
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(new Pair(studentId, courseId));
+            if (slot == null || first > last) {
+                return new Stats(0, 0, 0, 0, 0);
+            }
+            int offset = slotOffset(slot);
+            int present = 0;
+            int absent = 0;
+            int late = 0;
+            int run = 0;
+            int longest = 0;
+            for (int word = first >>> 6; word <= last >>> 6; word++) {
+                long mask = rangeMask(word, first, last);
+                long p = buffer.getLong(wordOffset(offset, 0, word)) & mask;
+                long a = buffer.getLong(wordOffset(offset, 1, word)) & mask;
+                long l = buffer.getLong(wordOffset(offset, 2, word)) & mask;
+                present += Long.bitCount(p);
+                absent += Long.bitCount(a);
+                late += Long.bitCount(l);
+                long recorded = p | a | l;
+                long breaks = recorded & ~p;
+                while (breaks != 0) {
+                    long lowest = breaks & -breaks;
+                    run += Long.bitCount(recorded & (lowest - 1));
+                    longest = Math.max(longest, run);
+                    run = 0;
+                    recorded &= ~((lowest << 1) - 1);
+                    breaks &= breaks - 1;
+                }
+                run += Long.bitCount(recorded);
+            }
+            return new Stats(present, absent, late, run, Math.max(longest, run));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int pairs() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void force() {
+        lock.readLock().lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            fileLock.release();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int slotFor(long studentId, long courseId) {
+        Pair pair = new Pair(studentId, courseId);
+        Integer existing = slots.get(pair);
+        if (existing != null) {
+            return existing;
+        }
+        int slot = slots.size();
+        if (slot == capacity) {
+            if (HEADER_BYTES + 2L * capacity * slotBytes > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Attendance bitmap file is full");
+            }
+            capacity *= 2;
+            try {
+                map();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not grow attendance bitmap file", ex);
+            }
+            buffer.putInt(20, capacity);
+        }
+        int offset = slotOffset(slot);
+        buffer.putLong(offset, studentId);
+        buffer.putLong(offset + 8, courseId);
+        for (int i = 16; i < slotBytes; i += Long.BYTES) {
+            buffer.putLong(offset + i, 0L);
+        }
+        buffer.putInt(16, slot + 1);
+        slots.put(pair, slot);
+        return slot;
+    }
+
+    private boolean headerMatches() throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != days || header.getLong(8) != start.toEpochDay()) {
+            return false;
+        }
+        this.capacity = header.getInt(20);
+        if (channel.size() < HEADER_BYTES + (long) capacity * slotBytes) {
+            return false;
+        }
+        map();
+        return true;
+    }
+
+    private void map() throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * slotBytes);
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_BYTES + slot * slotBytes;
+    }
+
+    private int wordOffset(int slotOffset, int set, int word) {
+        return slotOffset + 16 + (set * words + word) * Long.BYTES;
+    }
+
+    private static long rangeMask(int word, int first, int last) {
+        long mask = -1L;
+        if (word == first >>> 6) {
+            mask &= -1L << (first & 63);
+        }
+        if (word == last >>> 6) {
+            mask &= -1L >>> (63 - (last & 63));
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,46 @@
+package com.sms.util;
+
+import com.sms.dto.Dtos;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads a gradebook CSV with the columns {@code rollNo,marksObtained,maxMarks}. Blank or
+ * malformed numbers are passed on as {@code null} so that they are reported with the row.
+ */
+@Component
+public class CsvGradebookParser {
+
+    public List<Dtos.GradebookEntry> parse(Reader reader) throws IOException {
+        List<Dtos.GradebookEntry> entries = new ArrayList<>();
+        try (var parser = new CSVParser(new BufferedReader(reader), CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+            for (CSVRecord record : parser) {
+                entries.add(new Dtos.GradebookEntry(
+                        value(record, "rollNo"),
+                        decimal(value(record, "marksObtained")),
+                        decimal(value(record, "maxMarks"))));
+            }
+        }
+        return entries;
+    }
+
+    private static String value(CSVRecord record, String column) {
+        return record.isMapped(column) && record.isSet(column) ? record.get(column).trim() : null;
+    }
+
+    private static BigDecimal decimal(String value) {
+        try {
+            return value == null || value.isEmpty() ? null : new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
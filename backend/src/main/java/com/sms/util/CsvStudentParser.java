@@ -1,50 +1,68 @@
 package com.sms.util;
 
 import com.sms.dto.Dtos;
+import com.sms.entity.Department;
 import com.sms.entity.StudentStatus;
 import com.sms.repository.DepartmentRepository;
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.Reader;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 @Component
 @RequiredArgsConstructor
 public class CsvStudentParser {
 
+    public record Row(int row, Dtos.StudentRequest request, String error) {
+        public boolean valid() {
+            return error == null;
+        }
+    }
+
     private final DepartmentRepository departmentRepository;
 
-    public List<Dtos.StudentRequest> parse(MultipartFile file) throws IOException {
-        List<Dtos.StudentRequest> rows = new ArrayList<>();
-        try (var reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-             var parser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
-            parser.forEach(record -> {
-                Long departmentId = departmentRepository.findByCode(record.get("departmentCode"))
-                        .map(com.sms.entity.Department::getId)
-                        .orElseThrow(() -> new IllegalArgumentException("Unknown department " + record.get("departmentCode")));
-                rows.add(new Dtos.StudentRequest(
-                        record.get("rollNo"),
-                        record.get("firstName"),
-                        record.get("lastName"),
-                        record.get("email"),
-                        record.get("phone"),
-                        LocalDate.parse(record.get("dob")),
-                        record.get("gender"),
-                        record.get("address"),
-                        departmentId,
-                        LocalDate.parse(record.get("enrollDate")),
-                        record.get("profilePhotoUrl"),
-                        StudentStatus.valueOf(record.get("status").toUpperCase())
-                ));
-            });
+    public void stream(Reader reader, Consumer<Row> consumer) throws IOException {
+        Map<String, Long> departments = departmentRepository.findAll().stream()
+                .collect(Collectors.toMap(Department::getCode, Department::getId));
+        try (var parser = new CSVParser(new BufferedReader(reader), CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+            for (CSVRecord record : parser) {
+                consumer.accept(toRow(record, departments));
+            }
+        }
+    }
+
+    private Row toRow(CSVRecord record, Map<String, Long> departments) {
+        int row = (int) record.getRecordNumber();
+        try {
+            Long departmentId = departments.get(record.get("departmentCode"));
+            if (departmentId == null) {
+                return new Row(row, null, "Unknown department " + record.get("departmentCode"));
+            }
+            return new Row(row, new Dtos.StudentRequest(
+                    record.get("rollNo"),
+                    record.get("firstName"),
+                    record.get("lastName"),
+                    record.get("email"),
+                    record.get("phone"),
+                    LocalDate.parse(record.get("dob")),
+                    record.get("gender"),
+                    record.get("address"),
+                    departmentId,
+                    LocalDate.parse(record.get("enrollDate")),
+                    record.get("profilePhotoUrl"),
+                    StudentStatus.valueOf(record.get("status").toUpperCase())
+            ), null);
+        } catch (DateTimeParseException | IllegalArgumentException | IllegalStateException ex) {
+            return new Row(row, null, ex.getMessage());
         }
-        return rows;
     }
 }
@@ -0,0 +1,57 @@
+package com.sms.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Scores kept in rank order (highest first, ties by ascending id), so the top entries can be read
+ * without sorting and a changed score costs two tree operations. Not thread-safe.
+ */
+public class Leaderboard {
+
+    public record Entry(long id, double score) {}
+
+    private static final Comparator<Entry> RANK = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparingLong(Entry::id);
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(RANK);
+
+    public void put(long id, double score) {
+        Entry entry = new Entry(id, score);
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(entry);
+    }
+
+    public void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+    }
+
+    public List<Entry> top(int limit) {
+        List<Entry> top = new ArrayList<>(Math.min(limit, ranking.size()));
+        Iterator<Entry> iterator = ranking.iterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
@@ -0,0 +1,202 @@
+package com.sms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marks held column-wise in primitive arrays: one row per (student, course, exam type), with
+ * students, courses and exam types replaced by dense {@code int} codes. Statistics are plain
+ * loops over the columns; each course also keeps the offsets of its rows, so statistics for one
+ * course read only that course's rows. Scores are percentages of the maximum marks. Not
+ * thread-safe.
+ */
+public class MarkColumns {
+
+    public record CourseStats(long courseId, int count, double mean, double stddev) {}
+
+    public record NormalizedScore(long studentId, String examType, double score, double zScore) {}
+
+    private record Cell(int student, int course, int exam) {}
+
+    private final Map<Long, Integer> studentCodes = new HashMap<>();
+    private final Map<Long, Integer> courseCodes = new HashMap<>();
+    private final Map<String, Integer> examCodes = new HashMap<>();
+    private final Map<Cell, Integer> rows = new HashMap<>();
+    private long[] studentIds = new long[1024];
+    private long[] courseIds = new long[64];
+    private int[][] courseRows = new int[64][];
+    private int[] courseRowCounts = new int[64];
+    private final List<String> examTypes = new ArrayList<>();
+
+    private int[] student = new int[1024];
+    private int[] course = new int[1024];
+    private int[] exam = new int[1024];
+    private double[] obtained = new double[1024];
+    private double[] max = new double[1024];
+    private int size;
+
+    /**
+     * Adds the mark or replaces the values of an existing one, returning the score it replaced or
+     * {@code NaN} for a new mark.
+     */
+    public double put(long studentId, long courseId, String examType, double marksObtained, double maxMarks) {
+        Cell cell = new Cell(studentCode(studentId), courseCode(courseId), examCode(examType));
+        Integer row = rows.get(cell);
+        double previous = Double.NaN;
+        if (row != null) {
+            previous = score(row);
+        } else {
+            ensureCapacity();
+            row = size++;
+            rows.put(cell, row);
+            student[row] = cell.student();
+            course[row] = cell.course();
+            exam[row] = cell.exam();
+            addCourseRow(cell.course(), row);
+        }
+        obtained[row] = marksObtained;
+        max[row] = maxMarks;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mean and population standard deviation of the scores of every course, ordered by course id.
+     */
+    public List<CourseStats> courseStats() {
+        int courses = courseCodes.size();
+        int[] count = new int[courses];
+        double[] sum = new double[courses];
+        for (int i = 0; i < size; i++) {
+            count[course[i]]++;
+            sum[course[i]] += score(i);
+        }
+        double[] squares = new double[courses];
+        for (int i = 0; i < size; i++) {
+            int c = course[i];
+            double deviation = score(i) - sum[c] / count[c];
+            squares[c] += deviation * deviation;
+        }
+        List<CourseStats> stats = new ArrayList<>(courses);
+        for (int c = 0; c < courses; c++) {
+            if (count[c] > 0) {
+                stats.add(new CourseStats(courseIds[c], count[c], sum[c] / count[c], Math.sqrt(squares[c] / count[c])));
+            }
+        }
+        stats.sort((a, b) -> Long.compare(a.courseId(), b.courseId()));
+        return stats;
+    }
+
+    public CourseStats courseStats(long courseId) {
+        Integer code = courseCodes.get(courseId);
+        if (code == null) {
+            return new CourseStats(courseId, 0, 0, 0);
+        }
+        int[] offsets = courseRows[code];
+        int count = courseRowCounts[code];
+        double sum = 0;
+        for (int j = 0; j < count; j++) {
+            sum += score(offsets[j]);
+        }
+        double mean = count == 0 ? 0 : sum / count;
+        double squares = 0;
+        for (int j = 0; j < count; j++) {
+            double deviation = score(offsets[j]) - mean;
+            squares += deviation * deviation;
+        }
+        return new CourseStats(courseId, count, mean, count == 0 ? 0 : Math.sqrt(squares / count));
+    }
+
+    /**
+     * Scores in the course with their z-scores against the course mean, ordered by student id and
+     * exam type. The z-score is 0 when every score in the course is the same.
+     */
+    public List<NormalizedScore> normalized(long courseId) {
+        CourseStats stats = courseStats(courseId);
+        List<NormalizedScore> scores = new ArrayList<>(stats.count());
+        if (stats.count() == 0) {
+            return scores;
+        }
+        int c = courseCodes.get(courseId);
+        int[] offsets = courseRows[c];
+        for (int j = 0; j < courseRowCounts[c]; j++) {
+            int i = offsets[j];
+            double score = score(i);
+            double z = stats.stddev() == 0 ? 0 : (score - stats.mean()) / stats.stddev();
+            scores.add(new NormalizedScore(studentIds[student[i]], examTypes.get(exam[i]), score, z));
+        }
+        scores.sort((a, b) -> a.studentId() != b.studentId() ? Long.compare(a.studentId(), b.studentId())
+                : a.examType().compareTo(b.examType()));
+        return scores;
+    }
+
+    public static double score(double marksObtained, double maxMarks) {
+        return maxMarks == 0 ? 0 : marksObtained * 100 / maxMarks;
+    }
+
+    private double score(int row) {
+        return score(obtained[row], max[row]);
+    }
+
+    private int studentCode(long id) {
+        Integer code = studentCodes.get(id);
+        if (code == null) {
+            code = studentCodes.size();
+            if (code == studentIds.length) {
+                studentIds = Arrays.copyOf(studentIds, code * 2);
+            }
+            studentIds[code] = id;
+            studentCodes.put(id, code);
+        }
+        return code;
+    }
+
+    private int courseCode(long id) {
+        Integer code = courseCodes.get(id);
+        if (code == null) {
+            code = courseCodes.size();
+            if (code == courseIds.length) {
+                courseIds = Arrays.copyOf(courseIds, code * 2);
+                courseRows = Arrays.copyOf(courseRows, code * 2);
+                courseRowCounts = Arrays.copyOf(courseRowCounts, code * 2);
+            }
+            courseIds[code] = id;
+            courseRows[code] = new int[16];
+            courseCodes.put(id, code);
+        }
+        return code;
+    }
+
+    private void addCourseRow(int c, int row) {
+        int count = courseRowCounts[c];
+        if (count == courseRows[c].length) {
+            courseRows[c] = Arrays.copyOf(courseRows[c], count * 2);
+        }
+        courseRows[c][count] = row;
+        courseRowCounts[c] = count + 1;
+    }
+
+    private int examCode(String examType) {
+        return examCodes.computeIfAbsent(examType, type -> {
+            examTypes.add(type);
+            return examTypes.size() - 1;
+        });
+    }
+
+    private void ensureCapacity() {
+        if (size == student.length) {
+            int capacity = size + (size >> 1);
+            student = Arrays.copyOf(student, capacity);
+            course = Arrays.copyOf(course, capacity);
+            exam = Arrays.copyOf(exam, capacity);
+            obtained = Arrays.copyOf(obtained, capacity);
+            max = Arrays.copyOf(max, capacity);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sms.util;
+
+/**
+ * Distribution of percentage scores in {@code [0, 100]} as counts over quarter-point bins, so
+ * quantiles are within 0.125 points of the exact value. Unlike sampling sketches it supports
+ * removing a score, which overwritten marks need, and two sketches merge by adding their counts.
+ * Not thread-safe.
+ */
+public class ScoreSketch {
+
+    public static final int HISTOGRAM_BUCKETS = 10;
+
+    private static final int BINS_PER_POINT = 4;
+    private static final int BINS = 100 * BINS_PER_POINT + 1;
+
+    private final long[] counts = new long[BINS];
+    private long total;
+
+    public void add(double score) {
+        counts[bin(score)]++;
+        total++;
+    }
+
+    public void remove(double score) {
+        int bin = bin(score);
+        if (counts[bin] > 0) {
+            counts[bin]--;
+            total--;
+        }
+    }
+
+    public void merge(ScoreSketch other) {
+        for (int i = 0; i < BINS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Nearest-rank quantile for {@code q} in {@code [0, 1]}, or {@code NaN} when empty.
+     */
+    public double quantile(double q) {
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < BINS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (double) i / BINS_PER_POINT;
+            }
+        }
+        return 100;
+    }
+
+    /**
+     * Counts in {@link #HISTOGRAM_BUCKETS} buckets of ten points each; the last one includes 100.
+     */
+    public long[] histogram() {
+        long[] buckets = new long[HISTOGRAM_BUCKETS];
+        int binsPerBucket = (BINS - 1) / HISTOGRAM_BUCKETS;
+        for (int i = 0; i < BINS; i++) {
+            buckets[Math.min(HISTOGRAM_BUCKETS - 1, i / binsPerBucket)] += counts[i];
+        }
+        return buckets;
+    }
+
+    private static int bin(double score) {
+        return (int) Math.round(Math.max(0, Math.min(100, score)) * BINS_PER_POINT);
+    }
+}
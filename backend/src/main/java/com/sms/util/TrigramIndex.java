@@ -0,0 +1,387 @@
+package com.sms.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index over a few short text fields per document. Every term of a
+ * query must occur in at least one field; candidates come from intersecting the trigram posting
+ * lists of the terms (bigram lists for two-character terms) and are then verified against the
+ * stored field values. Single-character terms are verified by a scan over the candidates.
+ *
+ * <p>Document ids are stored as {@code int} and used directly as slots in the document table,
+ * which suits the dense sequence ids the entities use; ids above {@link Integer#MAX_VALUE} are
+ * rejected.
+ */
+public class TrigramIndex {
+
+    public record Hits(long total, List<Long> ids) {}
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int CONTAINS = 1;
+
+    private String[][] documents = new String[1024][];
+    private int documentCount;
+    private final Map<String, IntPostings> postings = new HashMap<>();
+    private final IntPostings allIds = new IntPostings();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String... fields) {
+        int docId = toDocId(id);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = fields[i] == null ? "" : fields[i].toLowerCase(Locale.ROOT);
+        }
+        lock.writeLock().lock();
+        try {
+            ensureDocumentCapacity(docId);
+            String[] previous = documents[docId];
+            documents[docId] = normalized;
+            if (previous != null) {
+                grams(previous).forEach(gram -> removePosting(gram, docId));
+            } else {
+                documentCount++;
+                allIds.add(docId);
+            }
+            grams(normalized).forEach(gram -> postings.computeIfAbsent(gram, g -> new IntPostings()).add(docId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        int docId = toDocId(id);
+        lock.writeLock().lock();
+        try {
+            String[] previous = docId < documents.length ? documents[docId] : null;
+            if (previous != null) {
+                documents[docId] = null;
+                documentCount--;
+                allIds.remove(docId);
+                grams(previous).forEach(gram -> removePosting(gram, docId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return id >= 0 && id < documents.length && documents[(int) id] != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matches ranked by how well each term hits a field (exact, prefix, substring), ties broken
+     * by ascending id. A blank query matches every document in id order. At most
+     * {@code offset + limit} matches are held for ranking, and never more than there are
+     * candidates, so an offset past the last match costs one scan and returns no ids.
+     */
+    public Hits search(String query, long offset, int limit) {
+        String[] terms = terms(query);
+        lock.readLock().lock();
+        try {
+            if (terms.length == 0) {
+                return new Hits(allIds.size, allIds.slice(offset, limit));
+            }
+            IntPostings candidates = candidates(terms);
+            int keep = (int) Math.min(offset + limit, candidates.size);
+            LongMaxHeap best = new LongMaxHeap(Math.max(1, keep));
+            long total = 0;
+            int maxScore = EXACT * terms.length;
+            for (int i = 0; i < candidates.size; i++) {
+                int docId = candidates.ids[i];
+                int score = score(documents[docId], terms);
+                if (score > 0) {
+                    total++;
+                    if (keep > 0) {
+                        best.offer(((long) (maxScore - score) << 32) | docId);
+                    }
+                }
+            }
+            long[] ranked = best.drainSorted();
+            List<Long> ids = new ArrayList<>();
+            for (long i = offset; i < ranked.length; i++) {
+                ids.add(ranked[(int) i] & 0xffffffffL);
+            }
+            return new Hits(total, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matches with an id greater than {@code afterId}, in id order, without ranking or a total.
+     */
+    public List<Long> searchAfter(String query, long afterId, int limit) {
+        String[] terms = terms(query);
+        lock.readLock().lock();
+        try {
+            IntPostings candidates = terms.length == 0 ? allIds : candidates(terms);
+            List<Long> ids = new ArrayList<>();
+            for (int i = candidates.firstGreaterThan(afterId); i < candidates.size && ids.size() < limit; i++) {
+                int docId = candidates.ids[i];
+                if (terms.length == 0 || score(documents[docId], terms) > 0) {
+                    ids.add((long) docId);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntPostings candidates(String[] terms) {
+        List<IntPostings> lists = new ArrayList<>();
+        for (String term : terms) {
+            for (String gram : queryGrams(term)) {
+                IntPostings list = postings.get(gram);
+                if (list == null) {
+                    return new IntPostings();
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return allIds;
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        IntPostings result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.size > 0; i++) {
+            result = result.intersect(lists.get(i));
+        }
+        return result;
+    }
+
+    private static int score(String[] fields, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (String field : fields) {
+                if (field.equals(term)) {
+                    best = EXACT;
+                    break;
+                }
+                if (field.startsWith(term)) {
+                    best = Math.max(best, PREFIX);
+                } else if (best == 0 && field.contains(term)) {
+                    best = CONTAINS;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private void removePosting(String gram, int docId) {
+        IntPostings list = postings.get(gram);
+        if (list != null) {
+            list.remove(docId);
+            if (list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String[] terms(String query) {
+        if (query == null || query.isBlank()) {
+            return new String[0];
+        }
+        return query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+    }
+
+    private static Set<String> grams(String... values) {
+        Set<String> grams = new HashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + 2 <= value.length(); i++) {
+                grams.add(value.substring(i, i + 2));
+                if (i + 3 <= value.length()) {
+                    grams.add(value.substring(i, i + 3));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> queryGrams(String term) {
+        List<String> grams = new ArrayList<>();
+        if (term.length() == 2) {
+            grams.add(term);
+        }
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private void ensureDocumentCapacity(int docId) {
+        if (docId >= documents.length) {
+            documents = Arrays.copyOf(documents, Math.max(docId + 1, documents.length + (documents.length >> 1)));
+        }
+    }
+
+    private static int toDocId(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Id out of indexable range: " + id);
+        }
+        return (int) id;
+    }
+
+    private static final class IntPostings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+
+        int firstGreaterThan(long id) {
+            if (id >= Integer.MAX_VALUE) {
+                return size;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, (int) Math.max(id, -1) + 1);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        List<Long> slice(long offset, int limit) {
+            List<Long> out = new ArrayList<>();
+            for (long i = offset; i < size && out.size() < limit; i++) {
+                out.add((long) ids[(int) i]);
+            }
+            return out;
+        }
+
+        IntPostings intersect(IntPostings other) {
+            IntPostings out = new IntPostings();
+            out.ids = new int[Math.min(size, other.size)];
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                int a = ids[i];
+                int b = other.ids[j];
+                if (a == b) {
+                    out.ids[out.size++] = a;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return out;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+            }
+        }
+    }
+
+    /** Keeps the {@code capacity} smallest keys seen. */
+    private static final class LongMaxHeap {
+        private final long[] heap;
+        private int size;
+
+        LongMaxHeap(int capacity) {
+            this.heap = new long[capacity];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] drainSorted() {
+            long[] out = Arrays.copyOf(heap, size);
+            Arrays.sort(out);
+            return out;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] >= heap[i]) {
+                    return;
+                }
+                swap(parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int largest = i;
+                if (left < size && heap[left] > heap[largest]) {
+                    largest = left;
+                }
+                if (left + 1 < size && heap[left + 1] > heap[largest]) {
+                    largest = left + 1;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
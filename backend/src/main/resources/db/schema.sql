@@ -4,3 +4,23 @@ CREATE TABLE IF NOT EXISTS departments (
     name VARCHAR(150),
     description TEXT
 );
+
+-- Pooled id sequences (allocationSize = 50 on every entity id).
+CREATE SEQUENCE IF NOT EXISTS app_user_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS department_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS teacher_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS student_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS course_seq START WITH 1 INCREMENT BY 50;
+
+-- Migrating a database that was populated through IDENTITY columns: move each sequence past the
+-- existing ids. SequenceAligner does the same on startup for both H2 and PostgreSQL; these
+-- statements are for running the migration by hand on PostgreSQL.
+SELECT setval('app_user_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM users));
+SELECT setval('department_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM department));
+SELECT setval('teacher_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM teacher));
+SELECT setval('student_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM student));
+SELECT setval('course_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM course));
+
+-- Attendance rollups moved from running totals (attendance_rollup) to daily counts
+-- (attendance_daily_rollup). AttendanceRollups drops the old table on startup as well.
+DROP TABLE IF EXISTS attendance_rollup;
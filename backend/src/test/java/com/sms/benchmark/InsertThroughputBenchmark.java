@@ -0,0 +1,128 @@
+package com.sms.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of IDENTITY ids (one INSERT per row that reads its key back, no batching
+ * possible) against ids taken in blocks of 50 from a sequence, which lets the inserts go out in
+ * JDBC batches of 50: the pooled sequence scheme and batch size the entities use. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=InsertThroughputBenchmark}.
+ *
+ * <p>Both sides write plain JDBC into scratch tables created and dropped here, so nothing of the
+ * benchmark enters the schema of the other test contexts.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest
+class InsertThroughputBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int CHUNK = 500;
+    private static final int BATCH = 50;
+    private static final String COLUMNS = "roll_no VARCHAR(255), first_name VARCHAR(255), last_name VARCHAR(255), " +
+            "email VARCHAR(255), dob DATE";
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private String nextBlockSql;
+
+    /** Writes rows {@code [from, to)} and returns the number of statements executed. */
+    private interface ChunkWriter {
+        int write(String prefix, int from, int to);
+    }
+
+    @Test
+    void identityVersusPooledSequence() {
+        String prefix = "bench-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_identity_student " +
+                "(id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " + COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bench_sequence_student (id BIGINT PRIMARY KEY, " + COLUMNS + ")");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS bench_sequence_student_seq START WITH 1 INCREMENT BY " + BATCH);
+        nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString("bench_sequence_student_seq");
+        try {
+            run("warmup identity", prefix + "w", this::identity, 2_000);
+            run("warmup sequence", prefix + "w", this::pooledSequence, 2_000);
+            double identity = run("IDENTITY", prefix, this::identity, ROWS);
+            double sequence = run("SEQUENCE pooled(50)", prefix, this::pooledSequence, ROWS);
+
+            assertThat(sequence).isPositive();
+            System.out.printf("speedup: %.2fx%n", sequence / identity);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS bench_identity_student");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS bench_sequence_student");
+            jdbcTemplate.execute("DROP SEQUENCE IF EXISTS bench_sequence_student_seq");
+        }
+    }
+
+    private double run(String label, String prefix, ChunkWriter writer, int rows) {
+        long statements = 0;
+        long started = System.nanoTime();
+        for (int from = 0; from < rows; from += CHUNK) {
+            int start = from;
+            statements += transactionTemplate.execute(status ->
+                    writer.write(prefix, start, Math.min(start + CHUNK, rows)));
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double perSecond = rows / seconds;
+        System.out.printf("%-20s %7d rows in %6.2f s = %9.0f rows/s, %6d JDBC statements executed%n",
+                label, rows, seconds, perSecond, statements);
+        return perSecond;
+    }
+
+    private int identity(String prefix, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String rollNo = prefix + i;
+            jdbcTemplate.update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bench_identity_student (roll_no, first_name, last_name, email, dob) " +
+                                "VALUES (?, ?, ?, ?, ?)", new String[]{"id"});
+                insert.setString(1, rollNo);
+                insert.setString(2, "Bench");
+                insert.setString(3, "Student");
+                insert.setString(4, rollNo + "@sms.dev");
+                insert.setObject(5, LocalDate.of(2004, 1, 1));
+                return insert;
+            }, new GeneratedKeyHolder());
+        }
+        return to - from;
+    }
+
+    private int pooledSequence(String prefix, int from, int to) {
+        int statements = 0;
+        for (int start = from; start < to; start += BATCH) {
+            long firstId = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+            List<Object[]> batch = new ArrayList<>(BATCH);
+            for (int i = start; i < Math.min(start + BATCH, to); i++) {
+                String rollNo = prefix + i;
+                batch.add(new Object[]{firstId + i - start, rollNo, "Bench", "Student", rollNo + "@sms.dev",
+                        LocalDate.of(2004, 1, 1)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO bench_sequence_student (id, roll_no, first_name, last_name, email, dob) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", batch);
+            statements += 2;
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,239 @@
+package com.sms.benchmark;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.Attendance;
+import com.sms.entity.AttendanceStatus;
+import com.sms.entity.Course;
+import com.sms.entity.Student;
+import com.sms.entity.StudentStatus;
+import com.sms.entity.Teacher;
+import com.sms.repository.AttendanceRepository;
+import com.sms.repository.StudentRepository;
+import com.sms.service.AcademicService;
+import com.sms.service.EngagementService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Latency and heap allocated per page for the list endpoints, hydrating managed entities and
+ * mapping them to responses versus the projection queries the services use. Students are measured
+ * on the SQL search path, as the search index would otherwise answer. Allocation is read from the
+ * JVM's per-thread counter, so each round runs on the calling thread only. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=ListingProjectionBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest
+class ListingProjectionBenchmark {
+
+    private static final int STUDENTS = 2_000;
+    private static final int TEACHERS = 1_000;
+    private static final int COURSES = 1_000;
+    private static final int ATTENDANCE_DAYS = 5;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 20;
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    EngagementService engagementService;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entitiesVersusProjections() {
+        String prefix = "bench-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            long courseId = seed(prefix);
+
+            run("students/entities", round -> readOnly.execute(status -> studentEntities(round % PAGES)));
+            run("students/projection", round -> readOnly.execute(status -> studentRepository
+                    .findResponsesBySearch("Bench", PageRequest.of(round % PAGES, PAGE_SIZE)).getNumberOfElements()));
+            run("teachers/entities", round -> readOnly.execute(status -> teacherEntities(round % PAGES)));
+            run("teachers/projection", round -> academicService.listTeachers(round % PAGES, PAGE_SIZE).content().size());
+            run("courses/entities", round -> readOnly.execute(status -> courseEntities(round % PAGES)));
+            run("courses/projection", round -> academicService.listCourses("Bench", round % PAGES, PAGE_SIZE).content().size());
+            run("attendance/entities", round -> readOnly.execute(status -> attendanceEntities(courseId)));
+            run("attendance/projection", round -> engagementService.scrollAttendance(courseId, null, PAGE_SIZE).content().size());
+        } finally {
+            jdbcTemplate.update("DELETE FROM attendance WHERE course_id IN (SELECT id FROM course WHERE code LIKE ?)",
+                    prefix + "%");
+            jdbcTemplate.update("DELETE FROM course WHERE code LIKE ?", prefix + "%");
+            jdbcTemplate.update("DELETE FROM teacher_subjects WHERE teacher_id IN (SELECT id FROM teacher WHERE employee_id LIKE ?)",
+                    prefix + "%");
+            jdbcTemplate.update("DELETE FROM teacher WHERE employee_id LIKE ?", prefix + "%");
+            jdbcTemplate.update("DELETE FROM student WHERE roll_no LIKE ?", prefix + "%");
+            entityManager.getEntityManagerFactory().getCache().evictAll();
+        }
+    }
+
+    private void run(String label, IntUnaryOperator page) {
+        int rows = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            rows = page.applyAsInt(i);
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            page.applyAsInt(WARMUP + i);
+        }
+        double millis = (System.nanoTime() - started) / 1e6 / ROUNDS;
+        double kib = (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1024.0 / ROUNDS;
+        System.out.printf("%-22s %5d rows in %8.3f ms, %9.1f KiB allocated per page%n", label, rows, millis, kib);
+    }
+
+    private int studentEntities(int page) {
+        List<Student> students = entityManager.createQuery("SELECT s FROM Student s " +
+                        "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                        "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY s.id", Student.class)
+                .setParameter("search", "Bench")
+                .setFirstResult(page * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        long total = entityManager.createQuery("SELECT COUNT(s) FROM Student s " +
+                        "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+                        "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))", Long.class)
+                .setParameter("search", "Bench")
+                .getSingleResult();
+        List<Dtos.StudentResponse> content = students.stream().map(s -> new Dtos.StudentResponse(
+                s.getId(), s.getRollNo(), s.getFirstName(), s.getLastName(), s.getEmail(), s.getPhone(), s.getDob(),
+                s.getGender(), s.getAddress(), s.getDepartment() != null ? s.getDepartment().getId() : null,
+                s.getEnrollDate(), s.getProfilePhotoUrl(), s.getStatus())).toList();
+        return total > 0 ? content.size() : 0;
+    }
+
+    private int teacherEntities(int page) {
+        List<Long> ids = entityManager.createQuery("SELECT t.id FROM Teacher t ORDER BY t.id", Long.class)
+                .setFirstResult(page * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        long total = entityManager.createQuery("SELECT COUNT(t) FROM Teacher t", Long.class).getSingleResult();
+        List<Teacher> teachers = entityManager.createQuery(
+                        "SELECT DISTINCT t FROM Teacher t LEFT JOIN FETCH t.subjects WHERE t.id IN :ids ORDER BY t.id", Teacher.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        List<Dtos.TeacherResponse> content = teachers.stream().map(t -> new Dtos.TeacherResponse(
+                t.getId(), t.getEmployeeId(), t.getName(), t.getEmail(), t.getPhone(),
+                t.getDepartment() != null ? t.getDepartment().getId() : null, t.getSubjects())).toList();
+        return total > 0 ? content.size() : 0;
+    }
+
+    private int courseEntities(int page) {
+        List<Course> courses = entityManager.createQuery("SELECT c FROM Course c " +
+                        "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%')) ORDER BY c.id", Course.class)
+                .setParameter("title", "Bench")
+                .setFirstResult(page * PAGE_SIZE)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        long total = entityManager.createQuery("SELECT COUNT(c) FROM Course c " +
+                        "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :title, '%'))", Long.class)
+                .setParameter("title", "Bench")
+                .getSingleResult();
+        List<Dtos.CourseResponse> content = courses.stream().map(c -> new Dtos.CourseResponse(
+                c.getId(), c.getCode(), c.getTitle(), c.getDescription(), c.getCredits(),
+                c.getDepartment() != null ? c.getDepartment().getId() : null,
+                c.getTeacher() != null ? c.getTeacher().getId() : null)).toList();
+        return total > 0 ? content.size() : 0;
+    }
+
+    private int attendanceEntities(long courseId) {
+        List<Attendance> rows = entityManager.createQuery(
+                        "SELECT a FROM Attendance a WHERE a.id.courseId = :courseId " +
+                                "ORDER BY a.id.studentId, a.id.date", Attendance.class)
+                .setParameter("courseId", courseId)
+                .setMaxResults(PAGE_SIZE + 1)
+                .getResultList();
+        List<Dtos.AttendanceResponse> content = rows.stream().map(a -> new Dtos.AttendanceResponse(
+                a.getStudent().getId(), a.getCourse().getId(), a.getId().getDate(), a.getStatus())).toList();
+        return content.size();
+    }
+
+    private long seed(String prefix) {
+        List<Long> students = new ArrayList<>();
+        List<Long> courses = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < STUDENTS; i++) {
+                Student student = Student.builder()
+                        .rollNo(prefix + i)
+                        .firstName("Bench")
+                        .lastName("Student " + i)
+                        .email(prefix + i + "@sms.dev")
+                        .phone("9999999999")
+                        .dob(LocalDate.of(2004, 1, 1))
+                        .gender("F")
+                        .address("Campus")
+                        .enrollDate(LocalDate.of(2023, 8, 1))
+                        .status(StudentStatus.ACTIVE)
+                        .build();
+                entityManager.persist(student);
+                students.add(student.getId());
+            }
+            List<Teacher> teachers = new ArrayList<>();
+            for (int i = 0; i < TEACHERS; i++) {
+                Teacher teacher = Teacher.builder()
+                        .employeeId(prefix + i)
+                        .name("Bench Teacher " + i)
+                        .email(prefix + i + "@sms.dev")
+                        .phone("9999999999")
+                        .subjects(List.of("Algebra", "Geometry", "Statistics " + i))
+                        .build();
+                entityManager.persist(teacher);
+                teachers.add(teacher);
+            }
+            for (int i = 0; i < COURSES; i++) {
+                Course course = Course.builder().code(prefix + i).title("Bench " + i).description("Benchmark course")
+                        .credits(3).teacher(teachers.get(i % TEACHERS)).build();
+                entityManager.persist(course);
+                courses.add(course.getId());
+            }
+        });
+        long courseId = courses.get(0);
+        AttendanceStatus[] statuses = AttendanceStatus.values();
+        for (int day = 0; day < ATTENDANCE_DAYS; day++) {
+            LocalDate date = LocalDate.of(2024, 3, 1).plusDays(day);
+            Map<Long, AttendanceStatus> rows = new HashMap<>(STUDENTS * 2);
+            for (int i = 0; i < STUDENTS; i++) {
+                rows.put(students.get(i), statuses[(i + day) % statuses.length]);
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> attendanceRepository.upsertSession(courseId, date, rows));
+        }
+        return courseId;
+    }
+}
@@ -0,0 +1,164 @@
+package com.sms.benchmark;
+
+import com.sms.entity.Course;
+import com.sms.entity.Mark;
+import com.sms.entity.Student;
+import com.sms.entity.StudentStatus;
+import com.sms.repository.MarkBulkWriter;
+import com.sms.repository.MarkRepository;
+import com.sms.service.MarksAnalytics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mean and standard deviation of every course computed by hydrating {@link Mark} entities, by a
+ * JPQL aggregate and from the {@link MarksAnalytics} column snapshot. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=MarkAnalyticsBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest
+class MarkAnalyticsBenchmark {
+
+    private static final int STUDENTS = 2_000;
+    private static final int COURSES = 20;
+    private static final List<String> EXAMS = List.of("Quiz", "Midterm", "Final");
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 10;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    MarkRepository markRepository;
+
+    @Autowired
+    MarksAnalytics marksAnalytics;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entitiesVersusAggregateQueryVersusColumns() {
+        String prefix = "bench-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        try {
+            seed(prefix);
+            marksAnalytics.rebuild();
+
+            double entities = run("JPA entities", round -> transactionTemplate.execute(status -> fromEntities()));
+            double aggregate = run("JPQL aggregate",
+                    round -> transactionTemplate.execute(status -> fromAggregateQuery(round)));
+            double columns = run("column snapshot", round -> marksAnalytics.courseStats().size());
+
+            assertThat(columns).isLessThan(aggregate);
+            System.out.printf("speedup over entities: %.1fx, over aggregate query: %.1fx%n",
+                    entities / columns, aggregate / columns);
+        } finally {
+            jdbcTemplate.update("DELETE FROM mark WHERE student_id IN (SELECT id FROM student WHERE roll_no LIKE ?)",
+                    prefix + "%");
+            jdbcTemplate.update("DELETE FROM student WHERE roll_no LIKE ?", prefix + "%");
+            jdbcTemplate.update("DELETE FROM course WHERE code LIKE ?", prefix + "%");
+            marksAnalytics.rebuild();
+        }
+    }
+
+    private double run(String label, IntUnaryOperator computation) {
+        int courses = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            courses = computation.applyAsInt(i);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            computation.applyAsInt(WARMUP + i);
+        }
+        double millis = (System.nanoTime() - started) / 1e6 / ROUNDS;
+        System.out.printf("%-16s %4d courses in %9.3f ms%n", label, courses, millis);
+        return millis;
+    }
+
+    private int fromEntities() {
+        Map<Long, List<Double>> scores = new HashMap<>();
+        for (Mark mark : markRepository.findAll()) {
+            double score = mark.getMarksObtained().doubleValue() * 100 / mark.getMaxMarks().doubleValue();
+            scores.computeIfAbsent(mark.getId().getCourseId(), id -> new ArrayList<>()).add(score);
+        }
+        scores.values().forEach(values -> {
+            double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            Math.sqrt(values.stream().mapToDouble(v -> (v - mean) * (v - mean)).average().orElse(0));
+        });
+        entityManager.clear();
+        return scores.size();
+    }
+
+    /**
+     * The round number only varies a bound that every row satisfies, so H2 cannot answer repeated
+     * rounds from its cached result.
+     */
+    private int fromAggregateQuery(int round) {
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT m.id.courseId, COUNT(m), " +
+                        "AVG(CAST(m.marksObtained AS Double) * 100 / CAST(m.maxMarks AS Double)), " +
+                        "AVG((CAST(m.marksObtained AS Double) * 100 / CAST(m.maxMarks AS Double)) " +
+                        "* (CAST(m.marksObtained AS Double) * 100 / CAST(m.maxMarks AS Double))) " +
+                        "FROM Mark m WHERE m.maxMarks > :floor GROUP BY m.id.courseId", Object[].class)
+                .setParameter("floor", BigDecimal.valueOf(-1 - round))
+                .getResultList();
+        rows.forEach(row -> {
+            double mean = (Double) row[2];
+            Math.sqrt(Math.max(0, (Double) row[3] - mean * mean));
+        });
+        return rows.size();
+    }
+
+    private void seed(String prefix) {
+        List<Long> students = new ArrayList<>();
+        List<Long> courses = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < STUDENTS; i++) {
+                Student student = Student.builder()
+                        .rollNo(prefix + i)
+                        .firstName("Bench")
+                        .lastName("Student")
+                        .email(prefix + i + "@sms.dev")
+                        .dob(LocalDate.of(2004, 1, 1))
+                        .status(StudentStatus.ACTIVE)
+                        .build();
+                entityManager.persist(student);
+                students.add(student.getId());
+            }
+            for (int i = 0; i < COURSES; i++) {
+                Course course = Course.builder().code(prefix + i).title("Bench " + i).credits(3).build();
+                entityManager.persist(course);
+                courses.add(course.getId());
+            }
+        });
+        for (Long courseId : courses) {
+            for (String exam : EXAMS) {
+                List<MarkBulkWriter.MarkRow> rows = new ArrayList<>(STUDENTS);
+                for (int i = 0; i < STUDENTS; i++) {
+                    rows.add(new MarkBulkWriter.MarkRow(students.get(i),
+                            BigDecimal.valueOf((i * 31L + courseId * 7 + exam.length()) % 101), BigDecimal.valueOf(100)));
+                }
+                transactionTemplate.executeWithoutResult(status -> markRepository.upsertExam(courseId, exam, rows));
+            }
+        }
+    }
+}
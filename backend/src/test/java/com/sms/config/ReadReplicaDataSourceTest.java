@@ -0,0 +1,103 @@
+package com.sms.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaDataSourceTest {
+
+    private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+    private final DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://127.0.0.1:1/down");
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyConnectionsGoToAReplicaThatIsUp() throws SQLException {
+        var dataSource = dataSource(List.of(down, replica), 0);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(database(dataSource, true)).isEqualTo("REPLICA");
+        }
+        assertThat(database(dataSource, false)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void readOnlyConnectionsOutsideReplicaReadsStayOnThePrimary() throws SQLException {
+        var dataSource = dataSource(List.of(replica), 0);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            try (ResultSet rs = connection.createStatement().executeQuery("SELECT DATABASE()")) {
+                rs.next();
+                assertThat(rs.getString(1)).isEqualTo("PRIMARY");
+            }
+        }
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenNoReplicaIsUp() throws SQLException {
+        var dataSource = dataSource(List.of(down), 0);
+
+        assertThat(database(dataSource, true)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void readsOfAUserWhoJustWroteStayOnThePrimary() throws SQLException {
+        var dataSource = dataSource(List.of(replica), 60_000);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@sms.dev", null, List.of()));
+
+        assertThat(database(dataSource, true)).isEqualTo("REPLICA");
+        assertThat(database(dataSource, false)).isEqualTo("PRIMARY");
+        assertThat(database(dataSource, true)).isEqualTo("PRIMARY");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader@sms.dev", null, List.of()));
+        assertThat(database(dataSource, true)).isEqualTo("REPLICA");
+    }
+
+    private ReadReplicaDataSource dataSource(List<DataSource> replicas, long readYourWritesMs) {
+        var dataSource = new ReadReplicaDataSource(primary, replicas, new ReadYourWrites(readYourWritesMs), 60_000);
+        dataSource.checkDefaultConnectionProperties();
+        return dataSource;
+    }
+
+    /** Reads through a {@link ReplicaRead} method, as the services do. */
+    private static String database(DataSource dataSource, boolean readOnly) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Probe());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ReplicaReadRouting());
+        Probe probe = factory.getProxy();
+        return probe.database(dataSource, readOnly);
+    }
+
+    static class Probe {
+
+        @ReplicaRead
+        public String database(DataSource dataSource, boolean readOnly) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setReadOnly(readOnly);
+                try (ResultSet rs = connection.createStatement().executeQuery("SELECT DATABASE()")) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.sms.config;
+
+import com.sms.security.TokenDenylist;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The replica is an empty in-memory database, standing in for one that has not caught up with
+ * anything yet; reads routed there by mistake fail or miss rows that the primary has.
+ */
+@SpringBootTest(properties = {
+        "datasource.replicas.urls=jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1",
+        "datasource.readYourWritesMs=500"
+})
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    Probe probe;
+
+    @Autowired
+    TokenDenylist tokenDenylist;
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void onlyReplicaReadsRunOnTheReplica() {
+        assertThat(probe.replicaRead()).isEqualTo("LAGGING-REPLICA");
+        assertThat(probe.readOnly()).isEqualTo("SMS");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String database = readOnly.execute(status -> probe.database());
+        assertThat(database).isEqualTo("SMS");
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimaryForAWhile() throws InterruptedException {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@sms.dev", null, List.of()));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE dashboard_counter_shard SET total = total WHERE name = 'none'"));
+
+        assertThat(probe.replicaRead()).isEqualTo("SMS");
+        Thread.sleep(700);
+        assertThat(probe.replicaRead()).isEqualTo("LAGGING-REPLICA");
+    }
+
+    @Test
+    void revokedTokensSurviveARefresh() {
+        String jti = UUID.randomUUID().toString();
+        tokenDenylist.revoke(jti, Instant.now().plusSeconds(600));
+
+        tokenDenylist.refresh();
+
+        assertThat(tokenDenylist.isRevoked(jti)).isTrue();
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        Probe probe(JdbcTemplate jdbcTemplate) {
+            return new Probe(jdbcTemplate);
+        }
+    }
+
+    static class Probe {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        Probe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @ReplicaRead
+        @Transactional(readOnly = true)
+        public String replicaRead() {
+            return database();
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return database();
+        }
+
+        public String database() {
+            return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sms.controller;
+
+import com.sms.entity.AppUser;
+import com.sms.entity.RoleType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AcademicControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void studentsReadOnlyTheirOwnTranscript() throws Exception {
+        AppUser student = AppUser.builder().id(1L).email("student@sms.dev").role(RoleType.STUDENT).referenceId(-1L).build();
+        AppUser teacher = AppUser.builder().id(2L).email("teacher@sms.dev").role(RoleType.TEACHER).build();
+
+        mockMvc.perform(get("/api/students/-2/transcript").with(user(student)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/students/-1/transcript").with(user(student)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/students/-2/transcript").with(user(teacher)))
+                .andExpect(status().isNotFound());
+    }
+}
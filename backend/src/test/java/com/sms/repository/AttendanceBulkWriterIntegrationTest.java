@@ -0,0 +1,70 @@
+package com.sms.repository;
+
+import com.sms.entity.AttendanceStatus;
+import com.sms.entity.Course;
+import com.sms.entity.Student;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AttendanceBulkWriterIntegrationTest {
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void aWriteRacingAnInsertSeesTheInsertedRow() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long courseId = courseRepository.save(Course.builder().code(prefix).title("Race").credits(3).build()).getId();
+        Long studentId = studentRepository.save(Student.builder().rollNo(prefix).firstName("Race").build()).getId();
+        LocalDate date = LocalDate.of(2024, 6, 1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+
+        CompletableFuture<Map<Long, AttendanceStatus>> first = CompletableFuture.supplyAsync(() ->
+                transaction.execute(status -> {
+                    Map<Long, AttendanceStatus> previous =
+                            attendanceRepository.upsertSession(courseId, date, Map.of(studentId, AttendanceStatus.PRESENT));
+                    inserted.countDown();
+                    sleep(300);
+                    return previous;
+                }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        Map<Long, AttendanceStatus> second = transaction.execute(status ->
+                attendanceRepository.upsertSession(courseId, date, Map.of(studentId, AttendanceStatus.ABSENT)));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(second).containsExactly(Map.entry(studentId, AttendanceStatus.PRESENT));
+        assertThat(attendanceRepository.findResponsesByCourse(courseId, 0L, LocalDate.EPOCH, Limit.unlimited())).singleElement()
+                .extracting(row -> row.status()).isEqualTo(AttendanceStatus.ABSENT);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
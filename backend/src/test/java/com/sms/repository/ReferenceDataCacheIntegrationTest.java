@@ -0,0 +1,66 @@
+package com.sms.repository;
+
+import com.sms.dto.Dtos;
+import com.sms.service.AcademicService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReferenceDataCacheIntegrationTest {
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    TeacherRepository teacherRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void lookupsHitTheCacheUntilTheTableIsWritten() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        var department = academicService.createDepartment(new Dtos.DepartmentRequest(prefix, "Cached", ""));
+        var teacher = academicService.createTeacher(new Dtos.TeacherRequest(prefix, "Cached Teacher",
+                prefix + "@sms.dev", "9999999999", department.id(), List.of("Caching")));
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics departments = statistics.getDomainDataRegionStatistics("department");
+        long departmentHits = departments.getHitCount();
+
+        departmentRepository.findById(department.id());
+        departmentRepository.findById(department.id());
+        assertThat(departments.getHitCount()).isEqualTo(departmentHits + 1);
+
+        long queryHits = statistics.getQueryCacheHitCount();
+        assertThat(teacherRepository.findByEmployeeId(prefix)).isPresent();
+        assertThat(teacherRepository.findByEmployeeId(prefix)).isPresent();
+        assertThat(departmentRepository.findByCode(prefix)).isPresent();
+        assertThat(departmentRepository.findByCode(prefix)).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 2);
+
+        academicService.createDepartment(new Dtos.DepartmentRequest(prefix + "-2", "Cached", ""));
+        assertThat(departmentRepository.findByCode(prefix)).get().extracting("id").isEqualTo(department.id());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(queryHits + 2);
+        assertThat(teacherRepository.findById(teacher.id())).get().extracting("name").isEqualTo("Cached Teacher");
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "department", "result", "hit").functionCounter()).isNotNull();
+    }
+}
@@ -0,0 +1,81 @@
+package com.sms.security;
+
+import com.sms.entity.AppUser;
+import com.sms.entity.RoleType;
+import com.sms.repository.AppUserRepository;
+import com.sms.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtServiceTest {
+
+    private final AppUserRepository userRepository = Mockito.mock(AppUserRepository.class);
+    private final TokenDenylist denylist = new TokenDenylist(Mockito.mock(RevokedTokenRepository.class), 1000);
+    private final AppUser user = AppUser.builder()
+            .id(7L).email("teacher@sms.dev").role(RoleType.TEACHER).referenceId(42L).build();
+
+    private JwtService jwtService(boolean statelessPrincipal) {
+        var service = new JwtService(userRepository,
+                new VerifiedTokenCache(100, 60000, new SimpleMeterRegistry()), denylist);
+        ReflectionTestUtils.setField(service, "secret", "test-secret-test-secret-1234567890");
+        ReflectionTestUtils.setField(service, "expirationMs", 60000L);
+        ReflectionTestUtils.setField(service, "statelessPrincipal", statelessPrincipal);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void repeatedTokenResolvesPrincipalOnce() {
+        when(userRepository.findByEmail("teacher@sms.dev")).thenReturn(Optional.of(user));
+        var service = jwtService(false);
+        String token = service.generateToken(user);
+
+        assertThat(service.authenticate(token)).containsSame(user);
+        assertThat(service.authenticate(token)).containsSame(user);
+        verify(userRepository, times(1)).findByEmail("teacher@sms.dev");
+    }
+
+    @Test
+    void statelessPrincipalIsBuiltFromClaims() {
+        var service = jwtService(true);
+        String token = service.generateToken(user);
+
+        var principal = (AppUser) service.authenticate(token).orElseThrow();
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("teacher@sms.dev");
+        assertThat(principal.getRole()).isEqualTo(RoleType.TEACHER);
+        assertThat(principal.getReferenceId()).isEqualTo(42L);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWhenCached() {
+        var service = jwtService(true);
+        String token = service.generateToken(user);
+        assertThat(service.authenticate(token)).isPresent();
+
+        assertThat(service.revoke(token)).isTrue();
+
+        assertThat(service.authenticate(token)).isEmpty();
+        assertThat(service.authenticate(service.generateToken(user))).isPresent();
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        var service = jwtService(true);
+        String token = service.generateToken(user);
+
+        assertThat(service.authenticate(token.substring(0, token.length() - 2) + "xx")).isEmpty();
+    }
+}
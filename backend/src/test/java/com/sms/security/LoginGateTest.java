@@ -0,0 +1,61 @@
+package com.sms.security;
+
+import com.sms.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginGateTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginGate gate = new LoginGate(meterRegistry);
+
+    LoginGateTest() {
+        ReflectionTestUtils.setField(gate, "threads", 1);
+        ReflectionTestUtils.setField(gate, "queueCapacity", 4);
+        ReflectionTestUtils.setField(gate, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(gate, "accountCapacity", 2);
+        ReflectionTestUtils.setField(gate, "accountRefillPerMinute", 1d);
+        ReflectionTestUtils.setField(gate, "ipCapacity", 3);
+        ReflectionTestUtils.setField(gate, "ipRefillPerMinute", 1d);
+        gate.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        gate.shutdown();
+    }
+
+    @Test
+    void rejectsAnAccountOverItsBucketWithRetryAfter() {
+        assertThat(gate.execute("Teacher@sms.dev", "10.0.0.1", () -> "ok")).isEqualTo("ok");
+        assertThat(gate.execute("teacher@sms.dev", "10.0.0.2", () -> "ok")).isEqualTo("ok");
+
+        assertThatThrownBy(() -> gate.execute("TEACHER@sms.dev", "10.0.0.3", () -> "ok"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        ex -> assertThat(ex.getRetryAfterSeconds()).isBetween(1L, 61L));
+        assertThat(meterRegistry.counter("auth.throttled", "reason", "account").count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAnAddressOverItsBucketAcrossAccounts() {
+        for (int i = 0; i < 3; i++) {
+            gate.execute("user" + i + "@sms.dev", "10.0.0.1", () -> "ok");
+        }
+
+        assertThatThrownBy(() -> gate.execute("other@sms.dev", "10.0.0.1", () -> "ok"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(gate.execute("other@sms.dev", "10.0.0.2", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void propagatesFailuresOfTheTask() {
+        assertThatThrownBy(() -> gate.execute("a@sms.dev", "10.0.0.1", () -> {
+            throw new IllegalArgumentException("bad credentials");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad credentials");
+    }
+}
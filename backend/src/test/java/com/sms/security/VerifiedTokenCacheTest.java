@@ -0,0 +1,64 @@
+package com.sms.security;
+
+import com.sms.entity.AppUser;
+import com.sms.entity.RoleType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AppUser user = AppUser.builder().id(7L).email("teacher@sms.dev").role(RoleType.TEACHER).build();
+
+    @Test
+    void recordsHitsAndMisses() {
+        var cache = new VerifiedTokenCache(100, 60_000, meterRegistry);
+        cache.put("token", new VerifiedToken(user, "jti", Instant.now().plusSeconds(60)));
+
+        assertThat(cache.get("token")).get().extracting(VerifiedToken::jti).isEqualTo("jti");
+        assertThat(cache.get("other")).isEmpty();
+
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void entriesExpireWithTheToken() throws InterruptedException {
+        var cache = new VerifiedTokenCache(100, 60_000, meterRegistry);
+        cache.put("token", new VerifiedToken(user, "jti", Instant.now().plusMillis(100)));
+        cache.put("expired", new VerifiedToken(user, "old", Instant.now().minusSeconds(1)));
+
+        assertThat(cache.get("token")).isPresent();
+        assertThat(cache.get("expired")).isEmpty();
+        Thread.sleep(200);
+        assertThat(cache.get("token")).isEmpty();
+    }
+
+    @Test
+    void entriesExpireAfterTheMaximumTtl() throws InterruptedException {
+        var cache = new VerifiedTokenCache(100, 100, meterRegistry);
+        cache.put("token", new VerifiedToken(user, "jti", Instant.now().plusSeconds(60)));
+
+        assertThat(cache.get("token")).isPresent();
+        Thread.sleep(200);
+        assertThat(cache.get("token")).isEmpty();
+    }
+
+    @Test
+    void invalidatedEntriesAreGone() {
+        var cache = new VerifiedTokenCache(100, 60_000, meterRegistry);
+        cache.put("token", new VerifiedToken(user, "jti", Instant.now().plusSeconds(60)));
+
+        cache.invalidate("token");
+
+        assertThat(cache.get("token")).isEmpty();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "jwt.verified-tokens", "result", result)
+                .functionCounter().count();
+    }
+}
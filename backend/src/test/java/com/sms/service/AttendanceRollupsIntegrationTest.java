@@ -0,0 +1,105 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.AttendanceStatus;
+import com.sms.entity.Enrollment;
+import com.sms.entity.EnrollmentId;
+import com.sms.entity.StudentStatus;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.EnrollmentRepository;
+import com.sms.repository.StudentRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AttendanceRollupsIntegrationTest {
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    EngagementService engagementService;
+
+    @Autowired
+    AttendanceRollups attendanceRollups;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ratesFollowWritesAndCorrectionsToEarlierDays() {
+        attendanceRollups.reconcile();
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long department = academicService.listDepartments().get(0).id();
+        var course = academicService.createCourse(new Dtos.CourseRequest(prefix, "Rollups", "", 3, department, null));
+        var first = academicService.createStudent(student(prefix + "-1", department));
+        var second = academicService.createStudent(student(prefix + "-2", department));
+        enroll(first.id(), course.id());
+        enroll(second.id(), course.id());
+        LocalDate day1 = LocalDate.of(2024, 3, 4);
+        LocalDate day2 = day1.plusDays(1);
+        LocalDate day3 = day1.plusDays(2);
+
+        engagementService.markSession(new Dtos.AttendanceSessionRequest(course.id(), day1, List.of(
+                new Dtos.AttendanceEntry(first.id(), AttendanceStatus.PRESENT),
+                new Dtos.AttendanceEntry(second.id(), AttendanceStatus.PRESENT))));
+        engagementService.markSession(new Dtos.AttendanceSessionRequest(course.id(), day3, List.of(
+                new Dtos.AttendanceEntry(first.id(), AttendanceStatus.PRESENT),
+                new Dtos.AttendanceEntry(second.id(), AttendanceStatus.ABSENT))));
+        engagementService.markAttendance(new Dtos.AttendanceRequest(second.id(), course.id(), day2, AttendanceStatus.ABSENT));
+        engagementService.markAttendance(new Dtos.AttendanceRequest(second.id(), course.id(), day1, AttendanceStatus.LATE));
+        var departmentRate = attendanceRollups.rate(null, null, department, null, day3);
+
+        assertThat(attendanceRollups.rate(null, course.id(), null, null, null))
+                .extracting(Dtos.AttendanceRate::present, Dtos.AttendanceRate::absent, Dtos.AttendanceRate::late,
+                        Dtos.AttendanceRate::percentage)
+                .containsExactly(2L, 2L, 1L, 40.0);
+        assertThat(attendanceRollups.rate(null, course.id(), null, day2, day3))
+                .extracting(Dtos.AttendanceRate::present, Dtos.AttendanceRate::absent, Dtos.AttendanceRate::percentage)
+                .containsExactly(1L, 2L, 33.3);
+        assertThat(attendanceRollups.rate(second.id(), null, null, day1, day3).percentage()).isZero();
+        assertThat(attendanceRollups.rate(first.id(), null, null, day1, day1).percentage()).isEqualTo(100.0);
+
+        attendanceRollups.reconcile();
+
+        assertThat(attendanceRollups.rate(null, null, department, null, day3)).isEqualTo(departmentRate);
+
+        jdbcTemplate.update("DELETE FROM attendance WHERE course_id = ? AND date = ?", course.id(), day2);
+        attendanceRollups.reconcile();
+
+        assertThat(attendanceRollups.rate(null, course.id(), null, day2, day2))
+                .extracting(Dtos.AttendanceRate::present, Dtos.AttendanceRate::absent, Dtos.AttendanceRate::late)
+                .containsExactly(0L, 0L, 0L);
+        assertThat(attendanceRollups.rate(second.id(), null, null, null, null).absent()).isEqualTo(1L);
+    }
+
+    private static Dtos.StudentRequest student(String rollNo, Long department) {
+        return new Dtos.StudentRequest(rollNo, "Roll", "Student", rollNo + "@sms.dev", "9999999999",
+                LocalDate.of(2004, 1, 1), "F", "Campus", department, LocalDate.of(2023, 8, 1), null, StudentStatus.ACTIVE);
+    }
+
+    private void enroll(Long studentId, Long courseId) {
+        enrollmentRepository.save(Enrollment.builder()
+                .id(new EnrollmentId(studentId, courseId, "2024-S1"))
+                .student(studentRepository.getReferenceById(studentId))
+                .course(courseRepository.getReferenceById(courseId))
+                .status("ENROLLED")
+                .build());
+    }
+}
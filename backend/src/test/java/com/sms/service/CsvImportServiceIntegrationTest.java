@@ -0,0 +1,79 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.repository.StudentRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "import.chunkSize=2")
+class CsvImportServiceIntegrationTest {
+
+    private static final String HEADER =
+            "rollNo,firstName,lastName,email,phone,dob,gender,address,departmentCode,enrollDate,profilePhotoUrl,status\n";
+
+    @Autowired
+    CsvImportService csvImportService;
+
+    @Autowired
+    StudentImportJobs studentImportJobs;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Test
+    void importsValidRowsAndReportsBadOnes() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        String csv = HEADER
+                + row(prefix + "-1", "CSE", "2004-01-01")
+                + row(prefix + "-2", "CSE", "2004-01-01")
+                + row(prefix + "-1", "CSE", "2004-01-01")
+                + row(prefix + "-3", "NOPE", "2004-01-01")
+                + row(prefix + "-4", "ECE", "not-a-date")
+                + row("23CSE001", "CSE", "2004-01-01")
+                + row(prefix + "-5", "ME", "2004-01-01");
+        var file = new MockMultipartFile("file", "students.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        var result = csvImportService.importStudents(file);
+
+        assertThat(result.processed()).isEqualTo(7);
+        assertThat(result.succeeded()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(4);
+        assertThat(result.errors()).extracting(Dtos.CsvRowError::row).containsExactly(3, 4, 5, 6);
+        assertThat(studentRepository.findByRollNo(prefix + "-5")).isPresent();
+    }
+
+    @Test
+    void backgroundJobReportsProgressUntilCompleted() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 25; i++) {
+            csv.append(row(prefix + "-" + i, "ECE", "2004-01-01"));
+        }
+        csv.append(row(prefix + "-0", "ECE", "2004-01-01"));
+        var file = new MockMultipartFile("file", "students.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        var submitted = studentImportJobs.submit(file);
+        var status = studentImportJobs.status(submitted.id());
+        for (int i = 0; i < 100 && !status.status().equals("COMPLETED"); i++) {
+            Thread.sleep(50);
+            status = studentImportJobs.status(submitted.id());
+        }
+
+        assertThat(status.status()).isEqualTo("COMPLETED");
+        assertThat(status.processed()).isEqualTo(26);
+        assertThat(status.succeeded()).isEqualTo(25);
+        assertThat(status.errors()).extracting(Dtos.CsvRowError::row).containsExactly(26);
+        assertThat(status.bytesRead()).isEqualTo(status.totalBytes());
+    }
+
+    private static String row(String rollNo, String department, String dob) {
+        return String.join(",", rollNo, "Test", "Student", rollNo + "@sms.dev", "9999999999", dob, "F",
+                "Campus", department, "2023-08-01", "", "active") + "\n";
+    }
+}
@@ -0,0 +1,165 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.AttendanceStatus;
+import com.sms.entity.Enrollment;
+import com.sms.entity.EnrollmentId;
+import com.sms.entity.StudentStatus;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.DashboardCounterRepository;
+import com.sms.repository.EnrollmentRepository;
+import com.sms.repository.JdbcUpserts;
+import com.sms.repository.StudentRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class DashboardAggregatesIntegrationTest {
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    EngagementService engagementService;
+
+    @Autowired
+    GradebookService gradebookService;
+
+    @Autowired
+    DashboardService dashboardService;
+
+    @Autowired
+    DashboardAggregates dashboardAggregates;
+
+    @Autowired
+    PerformanceLeaderboards performanceLeaderboards;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    DashboardCounterRepository dashboardCounterRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JdbcUpserts upserts;
+
+    @Test
+    void incrementalAggregatesMatchFullRecomputation() {
+        dashboardAggregates.reconcile();
+        performanceLeaderboards.rebuild();
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long department = academicService.listDepartments().get(0).id();
+        var course = academicService.createCourse(new Dtos.CourseRequest(prefix, "Aggregates", "", 3, department, null));
+        var first = academicService.createStudent(student(prefix + "-1", department));
+        var second = academicService.createStudent(student(prefix + "-2", department));
+        enroll(first.id(), course.id());
+        enroll(second.id(), course.id());
+        LocalDate date = LocalDate.of(2024, 5, 1);
+
+        engagementService.markSession(new Dtos.AttendanceSessionRequest(course.id(), date, List.of(
+                new Dtos.AttendanceEntry(first.id(), AttendanceStatus.PRESENT),
+                new Dtos.AttendanceEntry(second.id(), AttendanceStatus.PRESENT))));
+        engagementService.markAttendance(new Dtos.AttendanceRequest(second.id(), course.id(), date, AttendanceStatus.ABSENT));
+        engagementService.recordMark(new Dtos.MarkRequest(first.id(), course.id(), "Quiz", new BigDecimal("5"), new BigDecimal("10")));
+        gradebookService.upload(course.id(), "Quiz", List.of(
+                new Dtos.GradebookEntry(prefix + "-1", new BigDecimal("10"), new BigDecimal("10")),
+                new Dtos.GradebookEntry(prefix + "-2", new BigDecimal("7"), new BigDecimal("10"))));
+        academicService.deleteStudent(academicService.createStudent(student(prefix + "-3", department)).id());
+        var incremental = dashboardService.metrics();
+
+        dashboardAggregates.reconcile();
+        performanceLeaderboards.rebuild();
+        var recomputed = dashboardService.metrics();
+
+        assertThat(incremental).usingRecursiveComparison().ignoringFields("topPerformers").isEqualTo(recomputed);
+        assertThat(incremental.topPerformers()).extracting(Dtos.TopPerformer::score)
+                .containsExactlyElementsOf(recomputed.topPerformers().stream().map(Dtos.TopPerformer::score).toList());
+        assertThat(incremental.totalStudents()).isEqualTo(studentRepository.count());
+        assertThat(performanceLeaderboards.topPerformers(course.id(), null, 10))
+                .extracting(Dtos.TopPerformer::studentId, Dtos.TopPerformer::score)
+                .containsExactly(tuple(first.id(), 100.0), tuple(second.id(), 70.0));
+        assertThat(incremental.totalCourses()).isEqualTo(courseRepository.count());
+    }
+
+    @Test
+    void reconcileCountsAWriteThatCommitsWhileItRuns() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long department = academicService.listDepartments().get(0).id();
+        var course = academicService.createCourse(new Dtos.CourseRequest(prefix, "Reconcile", "", 3, department, null));
+        var student = academicService.createStudent(student(prefix, department));
+        // every stripe holds part of the total, as it would after a while of striped writes
+        int shards = 16;
+        List<Object[]> spread = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            spread.add(new Object[]{DashboardAggregates.ATTENDANCE_TOTAL, shard, shard == 0 ? 1L - shards : 1L});
+        }
+        jdbcTemplate.batchUpdate(upserts.increment("dashboard_counter_shard", new String[]{"name", "shard"}, "total"), spread);
+        CountDownLatch written = new CountDownLatch(1);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    engagementService.markAttendance(new Dtos.AttendanceRequest(student.id(), course.id(),
+                            LocalDate.of(2024, 6, 1), AttendanceStatus.PRESENT));
+                    written.countDown();
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        dashboardAggregates.reconcile();
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertThat(counter(DashboardAggregates.ATTENDANCE_TOTAL))
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance", Long.class));
+    }
+
+    private long counter(String name) {
+        return dashboardCounterRepository.sumByName().stream()
+                .filter(row -> name.equals(row[0]))
+                .mapToLong(row -> ((Number) row[1]).longValue())
+                .sum();
+    }
+
+    private static Dtos.StudentRequest student(String rollNo, Long department) {
+        return new Dtos.StudentRequest(rollNo, "Agg", "Student", rollNo + "@sms.dev", "9999999999",
+                LocalDate.of(2004, 1, 1), "F", "Campus", department, LocalDate.of(2023, 8, 1), null, StudentStatus.ACTIVE);
+    }
+
+    private void enroll(Long studentId, Long courseId) {
+        enrollmentRepository.save(Enrollment.builder()
+                .id(new EnrollmentId(studentId, courseId, "2024-S1"))
+                .student(studentRepository.getReferenceById(studentId))
+                .course(courseRepository.getReferenceById(courseId))
+                .status("ENROLLED")
+                .build());
+    }
+}
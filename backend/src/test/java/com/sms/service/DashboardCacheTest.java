@@ -0,0 +1,84 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+class DashboardCacheTest {
+
+    private final DashboardService dashboardService = Mockito.mock(DashboardService.class);
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(dashboardService.metrics()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return metrics(computations.incrementAndGet());
+        });
+        var cache = new DashboardCache(dashboardService, 60_000, 60_000, new SimpleMeterRegistry());
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Dtos.DashboardMetrics>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(cache::metrics));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Dtos.DashboardMetrics> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).totalStudents()).isEqualTo(1);
+            }
+        } finally {
+            callers.shutdownNow();
+            cache.shutdown();
+        }
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void writesRevalidateInBackgroundWhileStaleValueIsServed() throws Exception {
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dashboardService.metrics()).thenAnswer(invocation -> {
+            int n = computations.incrementAndGet();
+            if (n > 1) {
+                reloadStarted.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return metrics(n);
+        });
+        var cache = new DashboardCache(dashboardService, 60_000, 60_000, new SimpleMeterRegistry());
+        try {
+            assertThat(cache.metrics().totalStudents()).isEqualTo(1);
+
+            cache.refresh();
+            assertThat(reloadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(cache.metrics().totalStudents()).isEqualTo(1);
+            release.countDown();
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (cache.metrics().totalStudents() != 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.metrics().totalStudents()).isEqualTo(2);
+        } finally {
+            cache.shutdown();
+        }
+    }
+
+    private static Dtos.DashboardMetrics metrics(long students) {
+        return new Dtos.DashboardMetrics(students, 0, 0, 0, List.of());
+    }
+}
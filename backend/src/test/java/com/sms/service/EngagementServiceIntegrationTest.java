@@ -0,0 +1,189 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.AttendanceId;
+import com.sms.entity.AttendanceStatus;
+import com.sms.entity.Course;
+import com.sms.entity.Enrollment;
+import com.sms.entity.EnrollmentId;
+import com.sms.entity.Student;
+import com.sms.exception.BadRequestException;
+import com.sms.exception.RowValidationException;
+import com.sms.repository.AttendanceRepository;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.EnrollmentRepository;
+import com.sms.repository.StudentRepository;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class EngagementServiceIntegrationTest {
+
+    @Autowired
+    EngagementService engagementService;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    AttendanceRepository attendanceRepository;
+
+    @Autowired
+    AttendanceExportService attendanceExportService;
+
+    @Test
+    void sessionIsUpsertedForEnrolledStudents() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Session").credits(3).build());
+        Student first = enrolledStudent(prefix + "-1", course);
+        Student second = enrolledStudent(prefix + "-2", course);
+        LocalDate date = LocalDate.of(2024, 3, 1);
+
+        engagementService.markSession(new Dtos.AttendanceSessionRequest(course.getId(), date, List.of(
+                new Dtos.AttendanceEntry(first.getId(), AttendanceStatus.PRESENT),
+                new Dtos.AttendanceEntry(second.getId(), AttendanceStatus.ABSENT))));
+        var result = engagementService.markSession(new Dtos.AttendanceSessionRequest(course.getId(), date, List.of(
+                new Dtos.AttendanceEntry(second.getId(), AttendanceStatus.LATE))));
+
+        assertThat(result.recorded()).isEqualTo(1);
+        assertThat(engagementService.listAttendance(course.getId()))
+                .extracting(Dtos.AttendanceResponse::studentId, Dtos.AttendanceResponse::status)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), AttendanceStatus.PRESENT),
+                        tuple(second.getId(), AttendanceStatus.LATE));
+    }
+
+    @Test
+    void rejectsWholeSessionWhenAnyEntryIsInvalid() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Session").credits(3).build());
+        Student enrolled = enrolledStudent(prefix + "-1", course);
+        Student outsider = studentRepository.save(Student.builder().rollNo(prefix + "-2").firstName("Out").build());
+        LocalDate date = LocalDate.of(2024, 3, 2);
+
+        assertThatThrownBy(() -> engagementService.markSession(new Dtos.AttendanceSessionRequest(course.getId(), date, List.of(
+                new Dtos.AttendanceEntry(enrolled.getId(), AttendanceStatus.PRESENT),
+                new Dtos.AttendanceEntry(outsider.getId(), AttendanceStatus.PRESENT),
+                new Dtos.AttendanceEntry(enrolled.getId(), AttendanceStatus.ABSENT)))))
+                .isInstanceOfSatisfying(RowValidationException.class, ex ->
+                        assertThat(ex.getErrors()).extracting(Dtos.CsvRowError::row).containsExactly(2, 3));
+        assertThat(attendanceRepository.existsById(new AttendanceId(enrolled.getId(), course.getId(), date))).isFalse();
+    }
+
+    @Test
+    void exportStreamsFilteredAttendance() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Export").credits(3).build());
+        Student first = enrolledStudent(prefix + "-1", course);
+        Student second = enrolledStudent(prefix + "-2", course);
+        for (int day = 1; day <= 3; day++) {
+            engagementService.markSession(new Dtos.AttendanceSessionRequest(course.getId(), LocalDate.of(2024, 4, day), List.of(
+                    new Dtos.AttendanceEntry(first.getId(), AttendanceStatus.PRESENT),
+                    new Dtos.AttendanceEntry(second.getId(), AttendanceStatus.ABSENT))));
+        }
+        var csv = new ByteArrayOutputStream();
+        var ndjson = new ByteArrayOutputStream();
+
+        long csvRows = attendanceExportService.export(AttendanceExportService.Format.CSV, course.getId(), null,
+                LocalDate.of(2024, 4, 2), null, csv);
+        attendanceExportService.export(AttendanceExportService.Format.NDJSON, course.getId(), second.getId(),
+                null, LocalDate.of(2024, 4, 1), ndjson);
+
+        assertThat(csvRows).isEqualTo(4);
+        assertThat(csv.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "studentId,courseId,date,status",
+                first.getId() + "," + course.getId() + ",2024-04-02,PRESENT",
+                first.getId() + "," + course.getId() + ",2024-04-03,PRESENT",
+                second.getId() + "," + course.getId() + ",2024-04-02,ABSENT",
+                second.getId() + "," + course.getId() + ",2024-04-03,ABSENT");
+        assertThat(ndjson.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"studentId\":" + second.getId() + ",\"courseId\":" + course.getId()
+                        + ",\"date\":\"2024-04-01\",\"status\":\"ABSENT\"}\n");
+    }
+
+    @Test
+    void scrollMarksFiltersInQueryAndPagesByKey() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Marks").credits(3).build());
+        for (int i = 0; i < 5; i++) {
+            Student student = studentRepository.save(Student.builder().rollNo(prefix + "-" + i).firstName("M").build());
+            engagementService.recordMark(new Dtos.MarkRequest(student.getId(), course.getId(), "Quiz",
+                    BigDecimal.valueOf(10 + i), BigDecimal.valueOf(20)));
+            engagementService.recordMark(new Dtos.MarkRequest(student.getId(), course.getId(), "Final",
+                    BigDecimal.valueOf(50), BigDecimal.valueOf(100)));
+        }
+
+        var first = engagementService.scrollMarks(course.getId(), null, "Quiz", BigDecimal.valueOf(11), null, null, 2);
+        var second = engagementService.scrollMarks(course.getId(), null, "Quiz", BigDecimal.valueOf(11), null, first.next(), 2);
+
+        assertThat(first.content()).extracting(Dtos.MarkResponse::marksObtained)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(11), BigDecimal.valueOf(12));
+        assertThat(second.content()).extracting(Dtos.MarkResponse::marksObtained)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(13), BigDecimal.valueOf(14));
+        assertThat(second.next()).isNull();
+        assertThat(engagementService.listMarks(course.getId(), null, null, null, null)).hasSize(10);
+        assertThatThrownBy(() -> engagementService.scrollMarks(course.getId(), null, null, null, null, null,
+                Integer.MAX_VALUE)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void scrollAttendancePagesOneCourseByKey() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Scroll").credits(3).build());
+        Course other = courseRepository.save(Course.builder().code(prefix + "-o").title("Other").credits(3).build());
+        Student first = enrolledStudent(prefix + "-1", course);
+        Student second = enrolledStudent(prefix + "-2", course);
+        for (LocalDate date : List.of(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 2))) {
+            engagementService.markSession(new Dtos.AttendanceSessionRequest(course.getId(), date, List.of(
+                    new Dtos.AttendanceEntry(first.getId(), AttendanceStatus.PRESENT),
+                    new Dtos.AttendanceEntry(second.getId(), AttendanceStatus.ABSENT))));
+        }
+        attendanceRepository.upsertSession(other.getId(), LocalDate.of(2024, 5, 1),
+                Map.of(first.getId(), AttendanceStatus.LATE));
+
+        var page = engagementService.scrollAttendance(course.getId(), null, 3);
+        var rest = engagementService.scrollAttendance(course.getId(), page.next(), 3);
+
+        assertThat(page.content()).extracting(Dtos.AttendanceResponse::studentId, Dtos.AttendanceResponse::date)
+                .containsExactly(
+                        tuple(first.getId(), LocalDate.of(2024, 5, 1)),
+                        tuple(first.getId(), LocalDate.of(2024, 5, 2)),
+                        tuple(second.getId(), LocalDate.of(2024, 5, 1)));
+        assertThat(rest.content()).extracting(Dtos.AttendanceResponse::studentId, Dtos.AttendanceResponse::date)
+                .containsExactly(tuple(second.getId(), LocalDate.of(2024, 5, 2)));
+        assertThat(rest.next()).isNull();
+        assertThatThrownBy(() -> engagementService.scrollAttendance(course.getId(), null, Integer.MAX_VALUE))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private Student enrolledStudent(String rollNo, Course course) {
+        Student student = studentRepository.save(Student.builder().rollNo(rollNo).firstName("Test").build());
+        enrollmentRepository.save(Enrollment.builder()
+                .id(new EnrollmentId(student.getId(), course.getId(), "2024-S1"))
+                .student(student)
+                .course(course)
+                .status("ENROLLED")
+                .build());
+        return student;
+    }
+}
@@ -0,0 +1,103 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.Course;
+import com.sms.entity.MarkId;
+import com.sms.entity.Student;
+import com.sms.event.MarksRecordedEvent;
+import com.sms.repository.CourseRepository;
+import com.sms.repository.MarkRepository;
+import com.sms.repository.StudentRepository;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class GradebookServiceIntegrationTest {
+
+    @Autowired
+    GradebookService gradebookService;
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Autowired
+    MarkRepository markRepository;
+
+    @Autowired
+    TransactionProbe transactionProbe;
+
+    @Test
+    void upsertsValidRowsAndReportsTheRest() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Gradebook").credits(4).build());
+        Student first = studentRepository.save(Student.builder().rollNo(prefix + "-1").firstName("A").build());
+        Student second = studentRepository.save(Student.builder().rollNo(prefix + "-2").firstName("B").build());
+        gradebookService.upload(course.getId(), "Final", List.of(
+                new Dtos.GradebookEntry(prefix + "-1", new BigDecimal("10"), new BigDecimal("100"))));
+        String csv = "rollNo,marksObtained,maxMarks\n"
+                + prefix + "-1,81.5,100\n"
+                + prefix + "-2,120,100\n"
+                + prefix + "-9,50,100\n"
+                + prefix + "-1,70,100\n"
+                + prefix + "-2,abc,100\n";
+
+        var result = gradebookService.upload(course.getId(), "Final",
+                new MockMultipartFile("file", "final.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.errors()).extracting(Dtos.CsvRowError::row).containsExactly(2, 3, 4, 5);
+        assertThat(markRepository.findById(new MarkId(first.getId(), course.getId(), "Final")))
+                .get().extracting(mark -> mark.getMarksObtained().compareTo(new BigDecimal("81.5"))).isEqualTo(0);
+        assertThat(markRepository.existsById(new MarkId(second.getId(), course.getId(), "Final"))).isFalse();
+    }
+
+    @Test
+    void csvUploadsRecordMarksInOneTransaction() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Course course = courseRepository.save(Course.builder().code(prefix).title("Gradebook").credits(4).build());
+        studentRepository.save(Student.builder().rollNo(prefix + "-1").firstName("A").build());
+        String csv = "rollNo,marksObtained,maxMarks\n" + prefix + "-1,42,50\n";
+        transactionProbe.inTransaction.clear();
+
+        gradebookService.upload(course.getId(), "Midterm",
+                new MockMultipartFile("file", "midterm.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(transactionProbe.inTransaction).containsExactly(true);
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        TransactionProbe transactionProbe() {
+            return new TransactionProbe();
+        }
+    }
+
+    /** Records whether each mark event was published inside a transaction. */
+    static class TransactionProbe {
+
+        final List<Boolean> inTransaction = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onMarksRecorded(MarksRecordedEvent event) {
+            inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+        }
+    }
+}
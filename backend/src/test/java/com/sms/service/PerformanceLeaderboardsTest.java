@@ -0,0 +1,90 @@
+package com.sms.service;
+
+import com.sms.event.MarksRecordedEvent;
+import com.sms.repository.MarkRepository;
+import com.sms.repository.StudentMarkSummaryRepository;
+import com.sms.util.Leaderboard;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+class PerformanceLeaderboardsTest {
+
+    private final StudentMarkSummaryRepository summaries = Mockito.mock(StudentMarkSummaryRepository.class);
+    private final MarkRepository marks = Mockito.mock(MarkRepository.class);
+    private final PerformanceLeaderboards leaderboards = new PerformanceLeaderboards(summaries, marks, null);
+
+    @Test
+    void marksRecordedDuringARebuildSurviveIt() {
+        // Student 1 already has 0.5 in course 10. While the rebuild reads, student 2 gets a first
+        // mark of 0.9 that the scan misses, and student 1 gets 1.0 that the scan includes.
+        List<Object[]> studentsBefore = rows(new Object[]{1L, 100L, 0.5, 1L});
+        List<Object[]> coursesAfterWrites = rows(new Object[]{10L, 1L, 1.5, 2L});
+        when(summaries.findAllWithDepartment()).thenAnswer(invocation -> {
+            leaderboards.onMarksRecorded(new MarksRecordedEvent(List.of(
+                    change(2L, "0.9"),
+                    change(1L, "1.0"))));
+            return studentsBefore;
+        });
+        when(marks.sumScoresByCourseAndStudent()).thenReturn(coursesAfterWrites);
+        when(summaries.findWithDepartmentByStudentIdIn(anyCollection())).thenReturn(rows(
+                new Object[]{1L, 100L, 1.5, 2L},
+                new Object[]{2L, 100L, 0.9, 1L}));
+        when(marks.sumScoresByCourseAndStudentIn(anyCollection())).thenReturn(rows(
+                new Object[]{10L, 1L, 1.5, 2L},
+                new Object[]{10L, 2L, 0.9, 1L}));
+
+        leaderboards.rebuild();
+
+        assertThat(leaderboards.top(null, null, 10)).containsExactly(
+                new Leaderboard.Entry(2L, 0.9), new Leaderboard.Entry(1L, 0.75));
+        assertThat(leaderboards.top(10L, null, 10)).containsExactly(
+                new Leaderboard.Entry(2L, 0.9), new Leaderboard.Entry(1L, 0.75));
+        assertThat(leaderboards.top(null, 100L, 10)).hasSize(2);
+
+        leaderboards.onMarksRecorded(new MarksRecordedEvent(List.of(change(2L, "0.1"))));
+        assertThat(leaderboards.top(null, null, 1)).containsExactly(new Leaderboard.Entry(1L, 0.75));
+    }
+
+    @Test
+    void aWriteCommittingAcrossARebuildIsReadAgainInsteadOfReplayed() {
+        // Student 1 already has 0.5. A write of 1.0 publishes its event before the rebuild, commits
+        // in time for the scan to include it, and only completes after the new state is published.
+        when(summaries.findAllWithDepartment()).thenReturn(rows(new Object[]{1L, 100L, 1.5, 2L}));
+        when(marks.sumScoresByCourseAndStudent()).thenReturn(rows(new Object[]{10L, 1L, 1.5, 2L}));
+        when(summaries.findWithDepartmentByStudentIdIn(anyCollection())).thenReturn(rows(
+                new Object[]{1L, 100L, 1.5, 2L}));
+        when(marks.sumScoresByCourseAndStudentIn(anyCollection())).thenReturn(rows(
+                new Object[]{10L, 1L, 1.5, 2L}));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboards.onMarksRecorded(new MarksRecordedEvent(List.of(change(1L, "1.0"))));
+            leaderboards.rebuild();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(leaderboards.top(null, null, 10)).containsExactly(new Leaderboard.Entry(1L, 0.75));
+        assertThat(leaderboards.top(10L, null, 10)).containsExactly(new Leaderboard.Entry(1L, 0.75));
+    }
+
+    private static MarksRecordedEvent.Change change(Long studentId, String obtained) {
+        return new MarksRecordedEvent.Change(studentId, 100L, 10L, studentId == 2L ? "MIDTERM" : "FINAL",
+                null, null, new BigDecimal(obtained), BigDecimal.ONE);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,65 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.StudentStatus;
+import com.sms.repository.DepartmentRepository;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class StudentSearchIndexIntegrationTest {
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    StudentSearchIndex studentSearchIndex;
+
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void awaitIndex() throws InterruptedException {
+        for (int i = 0; i < 100 && !studentSearchIndex.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(studentSearchIndex.isReady()).isTrue();
+    }
+
+    @Test
+    void onlyCommittedWritesReachTheIndex() {
+        String rolledBack = "rb" + UUID.randomUUID().toString().substring(0, 8);
+        String committed = "ok" + UUID.randomUUID().toString().substring(0, 8);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            academicService.createStudent(request(rolledBack));
+            assertThat(studentSearchIndex.search(rolledBack, 0, 10).total()).isZero();
+            status.setRollbackOnly();
+        });
+        var created = academicService.createStudent(request(committed));
+
+        assertThat(studentSearchIndex.search(rolledBack, 0, 10).total()).isZero();
+        assertThat(studentSearchIndex.search(committed, 0, 10).ids()).containsExactly(created.id());
+
+        academicService.deleteStudent(created.id());
+        assertThat(studentSearchIndex.search(committed, 0, 10).total()).isZero();
+    }
+
+    private Dtos.StudentRequest request(String rollNo) {
+        Long departmentId = departmentRepository.findAll().get(0).getId();
+        return new Dtos.StudentRequest(rollNo, "Index", "Check", rollNo + "@sms.dev", "5557770000",
+                LocalDate.of(2004, 1, 1), "F", "Dorm 2", departmentId, LocalDate.of(2022, 8, 1), null,
+                StudentStatus.ACTIVE);
+    }
+}
@@ -4,16 +4,19 @@ import com.sms.dto.Dtos;
 import com.sms.entity.Department;
 import com.sms.entity.Student;
 import com.sms.entity.StudentStatus;
+import com.sms.exception.BadRequestException;
 import com.sms.repository.DepartmentRepository;
 import com.sms.repository.StudentRepository;
 import java.time.LocalDate;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
@@ -21,7 +24,8 @@ class StudentServiceTest {
 
     private final StudentRepository studentRepository = Mockito.mock(StudentRepository.class);
     private final DepartmentRepository departmentRepository = Mockito.mock(DepartmentRepository.class);
-    private final AcademicService academicService = new AcademicService(studentRepository, null, null, departmentRepository, null);
+    private final AcademicService academicService = new AcademicService(studentRepository, null, null, departmentRepository, null,
+            new StudentSearchIndex(studentRepository), event -> {});
 
     @Test
     void createStudentPersistsEntity() {
@@ -42,9 +46,42 @@ class StudentServiceTest {
 
     @Test
     void listStudentsReturnsPage() {
-        when(studentRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(eq(""), eq(""), any(PageRequest.class)))
-                .thenReturn(new PageImpl<>(java.util.List.of(Student.builder().id(1L).firstName("A").lastName("B").build())));
+        when(studentRepository.findResponsesBySearch(eq(""), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(java.util.List.of(new Dtos.StudentResponse(1L, null, "A", "B", null, null, null,
+                        null, null, null, null, null, null))));
         var page = academicService.listStudents("", 0, 10);
         assertThat(page.content()).hasSize(1);
     }
+
+    @Test
+    void scrollStudentsReturnsCursorToLastRow() {
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class)))
+                .thenReturn(java.util.List.of(
+                        Student.builder().id(1L).build(),
+                        Student.builder().id(2L).build(),
+                        Student.builder().id(3L).build()));
+        when(studentRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class)))
+                .thenReturn(java.util.List.of(Student.builder().id(3L).build()));
+
+        var first = academicService.scrollStudents("", null, 2);
+        var second = academicService.scrollStudents("", first.next(), 2);
+
+        assertThat(first.content()).extracting(Dtos.StudentResponse::id).containsExactly(1L, 2L);
+        assertThat(second.content()).extracting(Dtos.StudentResponse::id).containsExactly(3L);
+        assertThat(second.next()).isNull();
+    }
+
+    @Test
+    void listStudentsRejectsNegativePages() {
+        assertThatThrownBy(() -> academicService.listStudents("", -1, 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> academicService.listStudents("", 0, 0))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void scrollStudentsRejectsOversizedPages() {
+        assertThatThrownBy(() -> academicService.scrollStudents("", null, Integer.MAX_VALUE))
+                .isInstanceOf(BadRequestException.class);
+    }
 }
@@ -0,0 +1,71 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.util.Cursors;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.sms.service.TeacherListingIntegrationTest$CountingInspector")
+class TeacherListingIntegrationTest {
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listingRunsAConstantNumberOfQueries() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        var department = academicService.createDepartment(new Dtos.DepartmentRequest(prefix, "Listing", ""));
+        long firstId = 0;
+        for (int i = 0; i < 25; i++) {
+            var teacher = academicService.createTeacher(new Dtos.TeacherRequest(prefix + "-" + i, "Teacher " + i,
+                    prefix + i + "@sms.dev", "9999999999", department.id(), List.of("Algebra", "Geometry " + i)));
+            firstId = i == 0 ? teacher.id() : firstId;
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        CountingInspector.reset();
+        var page = academicService.listTeachers(0, 20);
+        assertThat(CountingInspector.count()).isEqualTo(3);
+        assertThat(page.content()).hasSize(20).isSortedAccordingTo(Comparator.comparing(Dtos.TeacherResponse::id));
+
+        CountingInspector.reset();
+        var slice = academicService.scrollTeachers(Cursors.encode(firstId - 1), 20);
+        assertThat(CountingInspector.count()).isEqualTo(2);
+        assertThat(slice.content()).hasSize(20).allSatisfy(teacher -> {
+            assertThat(teacher.employeeId()).startsWith(prefix);
+            assertThat(teacher.subjects()).hasSize(2).contains("Algebra");
+        });
+    }
+
+    /** Counts the statements prepared on the calling thread, so background loaders don't interfere. */
+    public static class CountingInspector implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+        static void reset() {
+            COUNT.get()[0] = 0;
+        }
+
+        static int count() {
+            return COUNT.get()[0];
+        }
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.get()[0]++;
+            return sql;
+        }
+    }
+}
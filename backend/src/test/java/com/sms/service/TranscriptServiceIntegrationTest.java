@@ -0,0 +1,99 @@
+package com.sms.service;
+
+import com.sms.dto.Dtos;
+import com.sms.entity.StudentStatus;
+import com.sms.exception.BadRequestException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class TranscriptServiceIntegrationTest {
+
+    @Autowired
+    AcademicService academicService;
+
+    @Autowired
+    EngagementService engagementService;
+
+    @Autowired
+    TranscriptService transcriptService;
+
+    @Test
+    void gradesBySemesterAndRecomputesOnlyAfterTheStudentChanges() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long department = academicService.listDepartments().get(0).id();
+        var algorithms = academicService.createCourse(new Dtos.CourseRequest(prefix + "-A", "Algorithms", "", 3, department, null));
+        var networks = academicService.createCourse(new Dtos.CourseRequest(prefix + "-N", "Networks", "", 4, department, null));
+        var compilers = academicService.createCourse(new Dtos.CourseRequest(prefix + "-C", "Compilers", "", 2, department, null));
+        var student = academicService.createStudent(new Dtos.StudentRequest(prefix, "Gpa", "Student", prefix + "@sms.dev",
+                "9999999999", LocalDate.of(2004, 1, 1), "F", "Campus", department, LocalDate.of(2023, 8, 1), null,
+                StudentStatus.ACTIVE));
+        academicService.enrollStudent(new Dtos.EnrollmentRequest(student.id(), algorithms.id(), "2024-S1", "ENROLLED"));
+        academicService.enrollStudent(new Dtos.EnrollmentRequest(student.id(), networks.id(), "2024-S1", "ENROLLED"));
+        academicService.enrollStudent(new Dtos.EnrollmentRequest(student.id(), compilers.id(), "2024-S2", "ENROLLED"));
+        mark(student.id(), algorithms.id(), "Quiz", "18", "20");
+        mark(student.id(), algorithms.id(), "Final", "72", "80");
+        mark(student.id(), networks.id(), "Final", "55", "100");
+
+        var transcript = transcriptService.transcript(student.id());
+
+        assertThat(transcript.cgpa()).isEqualTo(7.71);
+        assertThat(transcript.semesters())
+                .extracting(Dtos.TranscriptSemester::semester, Dtos.TranscriptSemester::creditsGraded, Dtos.TranscriptSemester::sgpa)
+                .containsExactly(tuple("2024-S1", 7, 7.71), tuple("2024-S2", 0, null));
+        assertThat(transcript.semesters().get(0).courses())
+                .extracting(Dtos.TranscriptCourse::percentage, Dtos.TranscriptCourse::grade)
+                .containsExactly(tuple(90.0, "O"), tuple(55.0, "B"));
+        assertThat(transcriptService.transcript(student.id())).isSameAs(transcript);
+
+        mark(student.id(), compilers.id(), "Final", "35", "100");
+        var updated = transcriptService.transcript(student.id());
+
+        assertThat(updated.version()).isGreaterThan(transcript.version());
+        assertThat(updated.cgpa()).isEqualTo(6.0);
+        assertThat(updated.semesters().get(1).sgpa()).isEqualTo(0.0);
+
+        assertThat(transcriptService.recomputeAll().students()).isPositive();
+        assertThat(transcriptService.transcript(student.id())).isNotSameAs(updated).isEqualTo(updated);
+    }
+
+    @Test
+    void leavesOutDroppedCoursesAndGradesRetakesOnce() {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Long department = academicService.listDepartments().get(0).id();
+        var algorithms = academicService.createCourse(new Dtos.CourseRequest(prefix + "-A", "Algorithms", "", 3, department, null));
+        var networks = academicService.createCourse(new Dtos.CourseRequest(prefix + "-N", "Networks", "", 4, department, null));
+        var student = academicService.createStudent(new Dtos.StudentRequest(prefix, "Retake", "Student", prefix + "@sms.dev",
+                "9999999999", LocalDate.of(2004, 1, 1), "F", "Campus", department, LocalDate.of(2023, 8, 1), null,
+                StudentStatus.ACTIVE));
+        academicService.enrollStudent(new Dtos.EnrollmentRequest(student.id(), algorithms.id(), "2024-S1", "ENROLLED"));
+        academicService.enrollStudent(new Dtos.EnrollmentRequest(student.id(), networks.id(), "2024-S1", "DROPPED"));
+        academicService.enrollStudent(new Dtos.EnrollmentRequest(student.id(), algorithms.id(), " 2024-s2 ", "ENROLLED"));
+        mark(student.id(), algorithms.id(), "Final", "80", "100");
+
+        var transcript = transcriptService.transcript(student.id());
+
+        assertThat(transcript.creditsGraded()).isEqualTo(3);
+        assertThat(transcript.semesters())
+                .extracting(Dtos.TranscriptSemester::semester, Dtos.TranscriptSemester::creditsGraded)
+                .containsExactly(tuple("2024-S1", 0), tuple("2024-S2", 3));
+        assertThat(transcript.semesters().get(0).courses())
+                .extracting(Dtos.TranscriptCourse::courseId, Dtos.TranscriptCourse::grade)
+                .containsExactly(tuple(algorithms.id(), null));
+        assertThatThrownBy(() -> academicService.enrollStudent(
+                new Dtos.EnrollmentRequest(student.id(), networks.id(), "Spring 2025", "ENROLLED")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void mark(Long studentId, Long courseId, String exam, String obtained, String max) {
+        engagementService.recordMark(new Dtos.MarkRequest(studentId, courseId, exam, new BigDecimal(obtained), new BigDecimal(max)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.sms.util;
+
+import com.sms.entity.AttendanceStatus;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceBitmapFileTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void countsStatusesAndStreaksAndSurvivesReopening() throws Exception {
+        Path path = dir.resolve("attendance.bitmap");
+        try (var file = AttendanceBitmapFile.open(path, START, 184)) {
+            assertThat(file.created()).isTrue();
+            for (int day = 0; day < 80; day++) {
+                file.set(1, 10, START.plusDays(day), AttendanceStatus.PRESENT);
+            }
+            file.set(1, 10, START.plusDays(60), AttendanceStatus.ABSENT);
+            file.set(1, 10, START.plusDays(70), AttendanceStatus.LATE);
+            file.set(1, 10, START.plusDays(5), AttendanceStatus.EXCUSED);
+            for (long student = 2; student < 3000; student++) {
+                file.set(student, 10, START, AttendanceStatus.ABSENT);
+            }
+        }
+
+        try (var file = AttendanceBitmapFile.open(path, START, 184)) {
+            assertThat(file.created()).isFalse();
+            assertThat(file.pairs()).isEqualTo(2999);
+            assertThat(file.stats(1, 10, START, START.plusDays(183)))
+                    .isEqualTo(new AttendanceBitmapFile.Stats(77, 1, 1, 9, 59));
+            assertThat(file.stats(1, 10, START.plusDays(61), START.plusDays(69)))
+                    .isEqualTo(new AttendanceBitmapFile.Stats(9, 0, 0, 9, 9));
+            assertThat(file.stats(2999, 10, START, START)).isEqualTo(new AttendanceBitmapFile.Stats(0, 1, 0, 0, 0));
+            assertThat(file.stats(1, 11, START, START.plusDays(10)).recorded()).isZero();
+        }
+
+        try (var file = AttendanceBitmapFile.open(path, START.plusMonths(6), 184)) {
+            assertThat(file.created()).isTrue();
+            assertThat(file.pairs()).isZero();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    @Test
+    void keepsEntriesRankedAcrossUpdatesAndRemovals() {
+        var board = new Leaderboard();
+        board.put(1, 0.5);
+        board.put(2, 0.9);
+        board.put(3, 0.7);
+        board.put(4, 0.7);
+
+        assertThat(board.top(3)).extracting(Leaderboard.Entry::id).containsExactly(2L, 3L, 4L);
+
+        board.put(1, 0.95);
+        board.remove(3);
+
+        assertThat(board.top(10)).extracting(Leaderboard.Entry::id).containsExactly(1L, 2L, 4L);
+        assertThat(board.size()).isEqualTo(3);
+    }
+}
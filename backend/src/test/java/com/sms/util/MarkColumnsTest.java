@@ -0,0 +1,54 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MarkColumnsTest {
+
+    @Test
+    void computesCourseStatisticsAndZScoresAfterOverwrites() {
+        var columns = new MarkColumns();
+        columns.put(1, 10, "Quiz", 4, 10);
+        columns.put(2, 10, "Quiz", 6, 10);
+        columns.put(3, 10, "Final", 40, 50);
+        columns.put(1, 20, "Quiz", 7, 7);
+        assertThat(columns.put(1, 10, "Quiz", 2, 10)).isEqualTo(40.0);
+
+        assertThat(columns.size()).isEqualTo(4);
+        var stats = columns.courseStats(10);
+        assertThat(stats.count()).isEqualTo(3);
+                double mean = 160.0 / 3;
+        assertThat(stats.mean()).isCloseTo(mean, within(1e-9));
+        assertThat(stats.stddev()).isCloseTo(
+                Math.sqrt((Math.pow(20 - mean, 2) + Math.pow(60 - mean, 2) + Math.pow(80 - mean, 2)) / 3), within(1e-9));
+        assertThat(columns.courseStats()).extracting(MarkColumns.CourseStats::courseId).containsExactly(10L, 20L);
+        assertThat(columns.courseStats()).first().isEqualTo(stats);
+
+        var normalized = columns.normalized(10);
+        assertThat(normalized).extracting(MarkColumns.NormalizedScore::studentId).containsExactly(1L, 2L, 3L);
+        assertThat(normalized.stream().mapToDouble(MarkColumns.NormalizedScore::zScore).sum()).isCloseTo(0, within(1e-9));
+        assertThat(columns.normalized(20)).singleElement()
+                .extracting(MarkColumns.NormalizedScore::zScore).isEqualTo(0.0);
+        assertThat(columns.normalized(30)).isEmpty();
+    }
+
+    @Test
+    void singleCourseStatisticsMatchTheFullScanAcrossManyCourses() {
+        var columns = new MarkColumns();
+        for (int student = 0; student < 300; student++) {
+            for (int course = 0; course < 100; course++) {
+                columns.put(student, course, "Final", (student * 7 + course * 3) % 101, 100);
+            }
+        }
+
+        for (var stats : columns.courseStats()) {
+            var single = columns.courseStats(stats.courseId());
+            assertThat(single.count()).isEqualTo(300);
+            assertThat(single.mean()).isCloseTo(stats.mean(), within(1e-9));
+            assertThat(single.stddev()).isCloseTo(stats.stddev(), within(1e-9));
+        }
+        assertThat(columns.normalized(99)).hasSize(300);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreSketchTest {
+
+    @Test
+    void quantilesAndHistogramFollowRemovalsAndMerges() {
+        var first = new ScoreSketch();
+        var second = new ScoreSketch();
+        for (int score = 1; score <= 50; score++) {
+            first.add(score);
+        }
+        for (int score = 51; score <= 100; score++) {
+            second.add(score);
+        }
+        second.add(12.3);
+        second.remove(12.3);
+
+        var merged = new ScoreSketch();
+        merged.merge(first);
+        merged.merge(second);
+
+        assertThat(merged.count()).isEqualTo(100);
+        assertThat(merged.quantile(0.1)).isEqualTo(10.0);
+        assertThat(merged.quantile(0.5)).isEqualTo(50.0);
+        assertThat(merged.quantile(0.9)).isEqualTo(90.0);
+        assertThat(merged.histogram()).containsExactly(9, 10, 10, 10, 10, 10, 10, 10, 10, 11);
+        assertThat(first.quantile(0.9)).isEqualTo(45.0);
+        assertThat(new ScoreSketch().quantile(0.5)).isNaN();
+    }
+}
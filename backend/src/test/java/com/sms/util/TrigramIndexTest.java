@@ -0,0 +1,66 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private TrigramIndex sample() {
+        var index = new TrigramIndex();
+        index.put(1, "Aarav", "Sharma", "23CSE001", "aarav.sharma@sms.dev");
+        index.put(2, "Diya", "Menon", "23ECE002", "diya.menon@sms.dev");
+        index.put(3, "Ishan", "Sharmaji", "23CSE003", "ishan@sms.dev");
+        index.put(4, "Kabir", "Sharma", "23ME004", "kabir@sms.dev");
+        return index;
+    }
+
+    @Test
+    void ranksExactOverPrefixOverSubstring() {
+        var hits = sample().search("sharma", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.ids()).containsExactly(1L, 4L, 3L);
+    }
+
+    @Test
+    void everyTermMustMatchSomeField() {
+        var index = sample();
+
+        assertThat(index.search("kabir sharma", 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search("CSE sharm", 0, 10).ids()).containsExactly(1L, 3L);
+        assertThat(index.search("zzz", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void shortTermsAndBlankQueriesFallBackToScan() {
+        var index = sample();
+
+        assertThat(index.search("me", 0, 10).ids()).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(index.search("", 1, 2).ids()).containsExactly(2L, 3L);
+        assertThat(index.search(" ", 0, 10).total()).isEqualTo(4);
+    }
+
+    @Test
+    void updatesAndRemovalsAreReflected() {
+        var index = sample();
+        index.put(2, "Diya", "Sharma", "23ECE002", "diya@sms.dev");
+        index.remove(1);
+
+        assertThat(index.search("sharma", 0, 10).ids()).containsExactly(2L, 4L, 3L);
+        assertThat(index.search("menon", 0, 10).total()).isZero();
+        assertThat(index.search("sharma", 1, 1).ids()).containsExactly(4L);
+    }
+
+    @Test
+    void offsetsPastTheLastMatchReturnNoIds() {
+        var index = sample();
+
+        var hits = index.search("sharma", (long) Integer.MAX_VALUE * 1000, Integer.MAX_VALUE);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.ids()).isEmpty();
+        assertThat(index.search("", Long.MAX_VALUE / 2, 10).ids()).isEmpty();
+        assertThat(index.search("sharma", 2, Integer.MAX_VALUE).ids()).containsExactly(3L);
+    }
+}